@@ -0,0 +1,60 @@
+// Writes .br and .gz files next to the text assets of the build, for the server to send
+// instead of the original when the browser accepts them.
+import { promises as fs } from 'fs';
+import path from 'path';
+import { promisify } from 'util';
+import zlib from 'zlib';
+
+const buildDir = path.resolve(process.argv[2] || 'build');
+const extensions = new Set(['.html', '.js', '.css', '.json', '.svg', '.txt', '.ico']);
+const minSize = 1024;
+
+const brotli = promisify(zlib.brotliCompress);
+const gzip = promisify(zlib.gzip);
+
+const encoders = [
+  ['.br', (data) => brotli(data, {
+    params: {
+      [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+      [zlib.constants.BROTLI_PARAM_SIZE_HINT]: data.length,
+    },
+  })],
+  ['.gz', (data) => gzip(data, { level: zlib.constants.Z_BEST_COMPRESSION })],
+];
+
+const listFiles = async (dir) => {
+  const entries = await fs.readdir(dir, { withFileTypes: true });
+  const nested = await Promise.all(entries.map((entry) => {
+    const fullPath = path.join(dir, entry.name);
+    return entry.isDirectory() ? listFiles(fullPath) : [fullPath];
+  }));
+  return nested.flat();
+};
+
+const compress = async (file) => {
+  const data = await fs.readFile(file);
+  if (data.length < minSize) {
+    return 0;
+  }
+  const written = await Promise.all(encoders.map(async ([extension, encode]) => {
+    const encoded = await encode(data);
+    if (encoded.length >= data.length) {
+      return 0;
+    }
+    await fs.writeFile(`${file}${extension}`, encoded);
+    return 1;
+  }));
+  return written.reduce((sum, count) => sum + count, 0);
+};
+
+listFiles(buildDir)
+  .then((files) => files.filter((file) => extensions.has(path.extname(file))))
+  .then((assets) => Promise.all(assets.map(compress)))
+  .then((counts) => {
+    const total = counts.reduce((sum, count) => sum + count, 0);
+    console.log(`Precompressed ${total} files in ${buildDir}`);
+  })
+  .catch((error) => {
+    console.error(error);
+    process.exitCode = 1;
+  });
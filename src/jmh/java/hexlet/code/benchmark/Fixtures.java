@@ -0,0 +1,76 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.Label;
+import hexlet.code.model.Task;
+import hexlet.code.model.TaskStatus;
+import hexlet.code.model.User;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Task shaped like a typical list row: author, executor, status and ten labels.
+ */
+public final class Fixtures {
+
+    public static final int LABELS = 10;
+
+    private Fixtures() {
+    }
+
+    public static Task task() {
+        final Date now = new Date();
+        final Set<Label> labels = LongStream.rangeClosed(1, LABELS)
+                .mapToObj(id -> new Label(id, "Label " + id, now, 0))
+                .collect(Collectors.toSet());
+        return Task.builder()
+                .id(1L)
+                .name("Prepare the release")
+                .description("Collect the changes, update the changelog and tag the release")
+                .taskStatus(new TaskStatus(1L, "In progress", now, 0))
+                .author(user(1L, "author@email.com"))
+                .executor(user(2L, "executor@email.com"))
+                .labels(labels)
+                .createdAt(now)
+                .build();
+    }
+
+    public static TaskView taskView() {
+        final Task task = task();
+        return new TaskView(
+                task.getId(),
+                task.getName(),
+                task.getDescription(),
+                task.getCreatedAt(),
+                task.getVersion(),
+                new TaskView.Status(task.getTaskStatus().getId(), task.getTaskStatus().getName()),
+                person(task.getAuthor()),
+                person(task.getExecutor()),
+                task.getLabels().stream()
+                        .map(label -> new TaskView.LabelRef(label.getId(), label.getName()))
+                        .collect(Collectors.toList()),
+                0
+        );
+    }
+
+    public static List<Long> labelIds() {
+        return LongStream.rangeClosed(1, LABELS).boxed().collect(Collectors.toList());
+    }
+
+    private static User user(final long id, final String email) {
+        final User user = new User(id);
+        user.setEmail(email);
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setCreatedAt(new Date());
+        return user;
+    }
+
+    private static TaskView.Person person(final User user) {
+        return new TaskView.Person(user.getId(), user.getFirstName(), user.getLastName());
+    }
+}
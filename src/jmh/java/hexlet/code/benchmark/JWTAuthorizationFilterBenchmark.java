@@ -0,0 +1,71 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import hexlet.code.filter.JWTAuthorizationFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static hexlet.code.component.JWTHelper.USER_ID;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+/**
+ * Cost of authorizing one request with a reused token, with the verified-token cache on and off.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTAuthorizationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    private long cacheSize;
+
+    private JWTAuthorizationFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final JWTHelper jwtHelper = new JWTHelper("task-manager", 86400L, 300L, "secret", cacheSize);
+        filter = new JWTAuthorizationFilter(new AntPathRequestMatcher("/api/login"), jwtHelper);
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(AUTHORIZATION, "Bearer " + jwtHelper.expiring(Map.of(
+                "username", "benchmark@email.com",
+                USER_ID, 1L
+        )));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object authorize() throws ServletException, IOException {
+        final MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return chain.getRequest();
+    }
+}
@@ -0,0 +1,58 @@
+package hexlet.code.benchmark;
+
+import hexlet.code.component.JWTHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static hexlet.code.component.JWTHelper.ROLE;
+import static hexlet.code.component.JWTHelper.USER_ID;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTHelperBenchmark {
+
+    private static final Map<String, Object> CLAIMS = Map.of(
+            "username", "benchmark@email.com",
+            USER_ID, 1L,
+            ROLE, "USER"
+    );
+
+    @Param({"0", "10000"})
+    private long cacheSize;
+
+    private JWTHelper jwtHelper;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtHelper = new JWTHelper("task-manager", 86400L, 300L, "secret", cacheSize);
+        token = jwtHelper.expiring(CLAIMS);
+    }
+
+    @Benchmark
+    public String expiring() {
+        return jwtHelper.expiring(CLAIMS);
+    }
+
+    @Benchmark
+    public Map<String, Object> verify() {
+        return jwtHelper.verify(token);
+    }
+}
@@ -0,0 +1,95 @@
+package hexlet.code.benchmark;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.model.QTask;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.querydsl.SimpleEntityPathResolver;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.querydsl.binding.QuerydslPredicateBuilder;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.TypeInformation;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of typical task list query strings to a QueryDSL predicate with the bindings of {@link TaskRepository}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskFilterBindingBenchmark {
+
+    private static final TypeInformation<Task> TASK_TYPE = ClassTypeInformation.from(Task.class);
+
+    private QuerydslPredicateBuilder predicateBuilder;
+    private QuerydslBindings bindings;
+    private MultiValueMap<String, String> statusFilter;
+    private MultiValueMap<String, String> fullFilter;
+
+    @Setup
+    public void setUp() {
+        predicateBuilder = new QuerydslPredicateBuilder(
+                new DefaultFormattingConversionService(),
+                SimpleEntityPathResolver.INSTANCE
+        );
+        bindings = new QuerydslBindings();
+        repositoryBindings().customize(bindings, QTask.task);
+
+        statusFilter = new LinkedMultiValueMap<>();
+        statusFilter.add("taskStatus", "1");
+
+        fullFilter = new LinkedMultiValueMap<>();
+        fullFilter.add("taskStatus", "1");
+        fullFilter.add("executorId", "2");
+        fullFilter.add("authorId", "1");
+        fullFilter.put("labels", List.of("1", "2", "3"));
+        fullFilter.put("createdAt", List.of("2023-01-01", "2024-01-01"));
+    }
+
+    @Benchmark
+    public Predicate bindStatusFilter() {
+        return predicateBuilder.getPredicate(TASK_TYPE, statusFilter, bindings);
+    }
+
+    @Benchmark
+    public Predicate bindAllFilters() {
+        return predicateBuilder.getPredicate(TASK_TYPE, fullFilter, bindings);
+    }
+
+    /**
+     * Only the default {@code customize} method of the repository is needed, so no Spring context is started.
+     */
+    private static TaskRepository repositoryBindings() {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (method.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, method, args);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        };
+        return (TaskRepository) Proxy.newProxyInstance(
+                TaskRepository.class.getClassLoader(),
+                new Class<?>[] {TaskRepository.class},
+                handler
+        );
+    }
+}
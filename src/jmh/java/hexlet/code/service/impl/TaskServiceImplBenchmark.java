@@ -0,0 +1,47 @@
+package hexlet.code.service.impl;
+
+import hexlet.code.benchmark.Fixtures;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.model.Task;
+import hexlet.code.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a request body to a task; lives in the service package because {@code fromDto} is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceImplBenchmark {
+
+    private TaskServiceImpl taskService;
+    private TaskDto taskDto;
+    private User author;
+
+    @Setup
+    public void setUp() {
+        taskService = new TaskServiceImpl(null, null, null, null, null, null, null, null, null);
+        taskDto = new TaskDto("Prepare the release", "Tag the release", 1L, new HashSet<>(Fixtures.labelIds()), 2L);
+        author = new User(1L);
+    }
+
+    @Benchmark
+    public Task fromDto() {
+        return taskService.fromDto(taskDto, author);
+    }
+}
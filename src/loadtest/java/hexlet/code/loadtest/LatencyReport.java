@@ -0,0 +1,117 @@
+package hexlet.code.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms per operation, in microseconds.
+ * <p>
+ * Response time is measured from the moment a request was scheduled to be sent, so requests delayed by a slow
+ * server are charged with the time they waited (coordinated omission corrected). Service time is measured from
+ * the moment the request was actually sent and is reported next to it to show how much the two differ.
+ */
+public final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double MILLIS_PER_SECOND = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Operation, Latencies> latencies = new EnumMap<>(Operation.class);
+
+    public LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new Latencies());
+        }
+    }
+
+    public void record(final Operation operation, final long responseNanos, final long serviceNanos,
+                       final String error) {
+        final Latencies operationLatencies = latencies.get(operation);
+        operationLatencies.responseTime.recordValue(toMicros(responseNanos));
+        operationLatencies.serviceTime.recordValue(toMicros(serviceNanos));
+        if (error != null) {
+            operationLatencies.errors.increment();
+            operationLatencies.errorSamples.putIfAbsent(error, Boolean.TRUE);
+        }
+    }
+
+    public void print(final PrintStream out, final Duration measured) {
+        out.printf(Locale.ROOT, "%-8s %9s %7s %9s %9s %9s %9s %9s %9s %12s%n", "", "count", "errors", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "p99 svc ms");
+        final Histogram totalResponse = newHistogram();
+        final Histogram totalService = newHistogram();
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Latencies> entry : latencies.entrySet()) {
+            final Latencies operationLatencies = entry.getValue();
+            if (operationLatencies.responseTime.getTotalCount() == 0) {
+                continue;
+            }
+            totalResponse.add(operationLatencies.responseTime);
+            totalService.add(operationLatencies.serviceTime);
+            totalErrors += operationLatencies.errors.sum();
+            printRow(out, entry.getKey().name().toLowerCase(Locale.ROOT), operationLatencies.responseTime,
+                    operationLatencies.serviceTime, operationLatencies.errors.sum(), measured);
+        }
+        printRow(out, "total", totalResponse, totalService, totalErrors, measured);
+        latencies.forEach((operation, operationLatencies) -> operationLatencies.errorSamples.keySet()
+                .forEach(error -> out.println(operation.name().toLowerCase(Locale.ROOT) + " error: " + error)));
+    }
+
+    /**
+     * Writes one HdrHistogram percentile distribution per operation, in milliseconds, which can be plotted
+     * with the HdrHistogram plotter to compare runs.
+     */
+    public void write(final Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Latencies> entry : latencies.entrySet()) {
+            if (entry.getValue().responseTime.getTotalCount() == 0) {
+                continue;
+            }
+            final Path file = directory.resolve(entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+                entry.getValue().responseTime.outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private static void printRow(final PrintStream out, final String name, final Histogram response,
+                                 final Histogram service, final long errors, final Duration measured) {
+        out.printf(Locale.ROOT, "%-8s %9d %7d %9.1f", name, response.getTotalCount(), errors,
+                response.getTotalCount() * MILLIS_PER_SECOND / measured.toMillis());
+        for (double percentile : PERCENTILES) {
+            out.printf(Locale.ROOT, " %9.2f", response.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+        }
+        out.printf(Locale.ROOT, " %9.2f %12.2f%n", response.getMaxValue() / MICROS_PER_MILLI,
+                service.getValueAtPercentile(PERCENTILES[2]) / MICROS_PER_MILLI);
+    }
+
+    private static long toMicros(final long nanos) {
+        return Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(nanos), 1), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static final class Latencies {
+        private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+        private final Map<String, Boolean> errorSamples = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,110 @@
+package hexlet.code.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends requests at a fixed arrival rate, whatever the latency of the responses (open workload model).
+ * Request {@code i} is due at {@code start + i / rate}; a slow server makes requests pile up in flight
+ * instead of slowing the generator down, as real clients would.
+ */
+public final class LoadGenerator {
+
+    private static final long DRAIN_POLL_MILLIS = 10;
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final LoadTestSettings settings;
+    private final LatencyReport report;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LoadGenerator(final HttpClient client, final Workload workload, final LoadTestSettings settings,
+                         final LatencyReport report) {
+        this.client = client;
+        this.workload = workload;
+        this.settings = settings;
+        this.report = report;
+        this.operations = settings.getMix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        int i = 0;
+        for (Map.Entry<Operation, Integer> weight : settings.getMix().entrySet()) {
+            total += weight.getValue();
+            cumulativeWeights[i++] = total;
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured period, then waits for the requests still in flight.
+     * Only requests due after the warmup are recorded.
+     */
+    public void run() throws InterruptedException {
+        final double intervalNanos = (double) TimeUnit.SECONDS.toNanos(1) / settings.getRate();
+        final long warmupNanos = settings.getWarmup().toNanos();
+        final long requests = (long) ((warmupNanos + settings.getDuration().toNanos()) / intervalNanos);
+        final long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            final long due = start + (long) (i * intervalNanos);
+            waitUntil(due);
+            send(workload.next(nextOperation()), due, due - start >= warmupNanos);
+        }
+        drain(settings.getTimeout().plus(settings.getTimeout()));
+    }
+
+    private void send(final Workload.Call call, final long due, final boolean measured) {
+        inFlight.incrementAndGet();
+        final long sent = System.nanoTime();
+        client.sendAsync(call.getRequest(), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, failure) -> {
+                    final long received = System.nanoTime();
+                    String error = failure == null ? null : failure.getClass().getSimpleName();
+                    if (response != null && response.statusCode() >= 400) {
+                        error = "HTTP " + response.statusCode();
+                    }
+                    if (error == null) {
+                        try {
+                            call.getOnSuccess().accept(response.body());
+                        } catch (RuntimeException e) {
+                            error = e.getClass().getSimpleName();
+                        }
+                    }
+                    if (measured) {
+                        report.record(call.getOperation(), received - due, received - sent, error);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private Operation nextOperation() {
+        final int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("No operation for weight " + value);
+    }
+
+    private void drain(final Duration timeout) throws InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(DRAIN_POLL_MILLIS);
+        }
+    }
+
+    private static void waitUntil(final long due) {
+        long remaining = due - System.nanoTime();
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = due - System.nanoTime();
+        }
+    }
+}
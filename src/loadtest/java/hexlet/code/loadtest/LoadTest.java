@@ -0,0 +1,70 @@
+package hexlet.code.loadtest;
+
+import hexlet.code.AppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Starts the application on an in-memory H2 database, seeds it over HTTP and drives the configured
+ * request mix against it, see {@link LoadTestSettings} for the parameters.
+ * Set {@code loadtest.url} to load an already running application instead.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        final ConfigurableApplicationContext application = settings.isStartApplication()
+                ? startApplication(settings)
+                : null;
+        try {
+            final String url = application == null
+                    ? settings.getUrl()
+                    : "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            final String api = url + (application == null
+                    ? settings.getBaseUrl()
+                    : application.getEnvironment().getProperty("base-url"));
+            final HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(settings.getTimeout())
+                    .build();
+
+            final Workload workload = Workload.seed(client, api, settings);
+            System.out.println("Seeded " + settings.getUsers() + " users and " + workload.taskCount() + " tasks at "
+                    + api + ", running " + settings);
+
+            final LatencyReport report = new LatencyReport();
+            new LoadGenerator(client, workload, settings, report).run();
+            report.print(System.out, settings.getDuration());
+            report.write(settings.getReportDir());
+            System.out.println("Histograms written to " + settings.getReportDir().toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(final LoadTestSettings settings) {
+        final Duration started = Duration.ofNanos(System.nanoTime());
+        final ConfigurableApplicationContext application = new SpringApplicationBuilder(AppApplication.class)
+                .run("--server.port=0",
+                        "--spring.profiles.active=" + settings.getProfiles(),
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.h2.console.enabled=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.web=WARN");
+        System.out.println("Application started with profiles " + settings.getProfiles() + " in "
+                + Duration.ofNanos(System.nanoTime()).minus(started).toMillis() + " ms");
+        return application;
+    }
+}
@@ -0,0 +1,84 @@
+package hexlet.code.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties.
+ */
+@Getter
+public final class LoadTestSettings {
+
+    public static final String PREFIX = "loadtest.";
+    private static final String DEFAULT_MIX = "login=2,list=40,filter=30,create=10,update=10,delete=8";
+
+    private final String url;
+    private final String baseUrl;
+    private final String profiles;
+    private final int rate;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration timeout;
+    private final int users;
+    private final int tasks;
+    private final Map<Operation, Integer> mix;
+    private final Path reportDir;
+
+    private LoadTestSettings() {
+        this.url = property("url", "");
+        this.baseUrl = property("base-url", "/api");
+        this.profiles = property("profiles", "dev");
+        this.rate = Integer.parseInt(property("rate", "100"));
+        this.duration = Duration.parse("PT" + property("duration", "60s"));
+        this.warmup = Duration.parse("PT" + property("warmup", "10s"));
+        this.timeout = Duration.parse("PT" + property("timeout", "10s"));
+        this.users = Integer.parseInt(property("users", "20"));
+        this.tasks = Integer.parseInt(property("tasks", "2000"));
+        this.mix = parseMix(property("mix", DEFAULT_MIX));
+        this.reportDir = Path.of(property("report-dir", "build/reports/loadtest"));
+        if (rate <= 0 || users <= 0 || tasks < 0) {
+            throw new IllegalArgumentException("loadtest.rate and loadtest.users must be positive, "
+                    + "loadtest.tasks must not be negative");
+        }
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings();
+    }
+
+    public boolean isStartApplication() {
+        return url.isBlank();
+    }
+
+    @Override
+    public String toString() {
+        return "rate=" + rate + "/s, duration=" + duration.toSeconds() + "s, warmup=" + warmup.toSeconds()
+                + "s, users=" + users + ", tasks=" + tasks + ", mix=" + mix;
+    }
+
+    private static String property(final String name, final String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue).trim();
+    }
+
+    private static Map<Operation, Integer> parseMix(final String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final String[] weight = entry.split("=");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("Malformed loadtest.mix entry '" + entry
+                        + "', expected operation=weight");
+            }
+            final Operation operation = Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT));
+            weights.put(operation, Integer.parseInt(weight[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadtest.mix must have a positive total weight");
+        }
+        return weights;
+    }
+}
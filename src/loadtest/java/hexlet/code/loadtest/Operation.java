@@ -0,0 +1,13 @@
+package hexlet.code.loadtest;
+
+/**
+ * Kinds of requests in the load mix, reported separately.
+ */
+public enum Operation {
+    LOGIN,
+    LIST,
+    FILTER,
+    CREATE,
+    UPDATE,
+    DELETE
+}
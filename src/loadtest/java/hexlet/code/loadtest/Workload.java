@@ -0,0 +1,240 @@
+package hexlet.code.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.LoginDto;
+import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.dto.UserDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static hexlet.code.config.security.SecurityConfig.LOGIN;
+import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
+import static hexlet.code.controller.TaskController.BATCH_PATH;
+import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+import static hexlet.code.controller.TaskStatusController.TASK_STATUS_CONTROLLER_PATH;
+import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
+
+/**
+ * Seeds the application over HTTP and builds the requests of the load mix against the seeded data.
+ * Every user deletes and updates only the tasks it authored, so the mix never fails on ownership checks.
+ */
+public final class Workload {
+
+    private static final String PASSWORD = "loadtest";
+    private static final int BATCH_SIZE = 1000;
+    private static final int STATUSES = 4;
+    private static final int LABELS = 8;
+    private static final Consumer<String> IGNORE = body -> { };
+
+    private final HttpClient client;
+    private final String api;
+    private final Duration timeout;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<VirtualUser> users = new ArrayList<>();
+    private final List<Long> statusIds = new ArrayList<>();
+    private final List<Long> labelIds = new ArrayList<>();
+
+    private Workload(final HttpClient client, final String api, final Duration timeout) {
+        this.client = client;
+        this.api = api;
+        this.timeout = timeout;
+    }
+
+    public static Workload seed(final HttpClient client, final String api, final LoadTestSettings settings)
+            throws IOException, InterruptedException {
+        final Workload workload = new Workload(client, api, settings.getTimeout());
+        final String run = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+        for (int i = 0; i < settings.getUsers(); i++) {
+            workload.register("loadtest-" + run + "-" + i + "@example.com");
+        }
+        final String token = workload.users.get(0).getToken();
+        for (int i = 0; i < STATUSES; i++) {
+            workload.statusIds.add(workload.createNamed(token, TASK_STATUS_CONTROLLER_PATH,
+                    new TaskStatusDto("status-" + run + "-" + i)));
+        }
+        for (int i = 0; i < LABELS; i++) {
+            workload.labelIds.add(workload.createNamed(token, LABEL_CONTROLLER_PATH,
+                    new LabelDto("label-" + run + "-" + i)));
+        }
+        workload.createTasks(settings.getTasks());
+        return workload;
+    }
+
+    public int taskCount() {
+        return users.stream().mapToInt(user -> user.getTasks().size()).sum();
+    }
+
+    /**
+     * Builds the next request of the given kind for a random user. Updates and deletes fall back to a create
+     * when that user has no tasks left.
+     */
+    public Call next(final Operation operation) {
+        final VirtualUser user = users.get(random().nextInt(users.size()));
+        switch (operation) {
+            case LOGIN:
+                return new Call(operation, post(LOGIN, null, new LoginDto(user.getEmail(), PASSWORD)), IGNORE);
+            case LIST:
+                return new Call(operation, get(TASK_CONTROLLER_PATH, user.getToken()), IGNORE);
+            case FILTER:
+                return new Call(operation, get(TASK_CONTROLLER_PATH + "?" + filter(), user.getToken()), IGNORE);
+            case UPDATE:
+                final Long updated = user.getTasks().peekLast();
+                return updated == null ? create(user) : new Call(operation,
+                        put(TASK_CONTROLLER_PATH + "/" + updated, user.getToken(), task("updated")), IGNORE);
+            case DELETE:
+                final Long deleted = user.getTasks().pollFirst();
+                return deleted == null ? create(user) : new Call(operation,
+                        delete(TASK_CONTROLLER_PATH + "/" + deleted, user.getToken()), IGNORE);
+            case CREATE:
+                return create(user);
+            default:
+                throw new IllegalArgumentException("Unknown operation " + operation);
+        }
+    }
+
+    private Call create(final VirtualUser user) {
+        return new Call(Operation.CREATE, post(TASK_CONTROLLER_PATH, user.getToken(), task("created")),
+                body -> user.getTasks().addLast(readTree(body).get("id").asLong()));
+    }
+
+    private void register(final String email) throws IOException, InterruptedException {
+        final JsonNode user = readTree(send(post(USER_CONTROLLER_PATH, null,
+                new UserDto(email, "Load", "Test", PASSWORD))));
+        final String token = send(post(LOGIN, null, new LoginDto(email, PASSWORD)));
+        users.add(new VirtualUser(user.get("id").asLong(), email, token, new ConcurrentLinkedDeque<>()));
+    }
+
+    private long createNamed(final String token, final String path, final Object dto)
+            throws IOException, InterruptedException {
+        return readTree(send(post(path, token, dto))).get("id").asLong();
+    }
+
+    private void createTasks(final int count) throws IOException, InterruptedException {
+        for (int i = 0; i < users.size(); i++) {
+            final VirtualUser user = users.get(i);
+            int remaining = count / users.size() + (i < count % users.size() ? 1 : 0);
+            while (remaining > 0) {
+                final List<TaskDto> batch = new ArrayList<>();
+                for (int j = 0; j < Math.min(remaining, BATCH_SIZE); j++) {
+                    batch.add(task("seeded"));
+                }
+                for (JsonNode result : readTree(send(post(TASK_CONTROLLER_PATH + BATCH_PATH, user.getToken(),
+                        batch)))) {
+                    user.getTasks().addLast(result.get("id").asLong());
+                }
+                remaining -= batch.size();
+            }
+        }
+    }
+
+    private TaskDto task(final String name) {
+        final ThreadLocalRandom random = random();
+        return new TaskDto(name + "-" + random.nextInt(), "Load test task",
+                statusIds.get(random.nextInt(statusIds.size())),
+                Set.of(labelIds.get(random.nextInt(labelIds.size()))),
+                users.get(random.nextInt(users.size())).getId());
+    }
+
+    private String filter() {
+        final ThreadLocalRandom random = random();
+        final String status = "taskStatus=" + statusIds.get(random.nextInt(statusIds.size()));
+        switch (random.nextInt(3)) {
+            case 0:
+                return status;
+            case 1:
+                return status + "&labels=" + labelIds.get(random.nextInt(labelIds.size()));
+            default:
+                return status + "&executorId=" + users.get(random.nextInt(users.size())).getId();
+        }
+    }
+
+    private HttpRequest get(final String path, final String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(final String path, final String token, final Object body) {
+        return request(path, token).POST(json(body)).build();
+    }
+
+    private HttpRequest put(final String path, final String token, final Object body) {
+        return request(path, token).PUT(json(body)).build();
+    }
+
+    private HttpRequest delete(final String path, final String token) {
+        return request(path, token).DELETE().build();
+    }
+
+    private HttpRequest.Builder request(final String path, final String token) {
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(api + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest.BodyPublisher json(final Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private JsonNode readTree(final String body) {
+        try {
+            return mapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String send(final HttpRequest request) throws IOException, InterruptedException {
+        final HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Seeding failed: " + request.method() + " " + request.uri()
+                    + " returned " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private static ThreadLocalRandom random() {
+        return ThreadLocalRandom.current();
+    }
+
+    /**
+     * A request of the mix and what to do with the body of its successful response.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Call {
+        private final Operation operation;
+        private final HttpRequest request;
+        private final Consumer<String> onSuccess;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class VirtualUser {
+        private final long id;
+        private final String email;
+        private final String token;
+        private final Deque<Long> tasks;
+    }
+}
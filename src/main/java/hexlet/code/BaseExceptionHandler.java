@@ -1,11 +1,15 @@
 package hexlet.code;
 
+import hexlet.code.exception.BadRequestException;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.RejectedExecutionException;
+import javax.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -17,6 +21,8 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
@@ -31,13 +37,13 @@ public class BaseExceptionHandler {
     }
 
     @ResponseStatus(NOT_FOUND)
-    @ExceptionHandler(NoSuchElementException.class)
-    public String noSuchElementExceptionHandler(NoSuchElementException exception) {
+    @ExceptionHandler({NoSuchElementException.class, EntityNotFoundException.class})
+    public String noSuchElementExceptionHandler(RuntimeException exception) {
         return exception.getMessage();
     }
 
     @ResponseStatus(BAD_REQUEST)
-    @ExceptionHandler({HttpMessageNotReadableException.class})
+    @ExceptionHandler({HttpMessageNotReadableException.class, BadRequestException.class})
     public String validationExceptionsHandler(Exception exception) {
         return exception.getMessage();
     }
@@ -54,6 +60,12 @@ public class BaseExceptionHandler {
         return exception.getCause().getCause().getMessage();
     }
 
+    @ResponseStatus(PRECONDITION_FAILED)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public String optimisticLockingFailureExceptionHandler(OptimisticLockingFailureException exception) {
+        return exception.getMessage();
+    }
+
     @ResponseStatus(FORBIDDEN)
     @ExceptionHandler(AccessDeniedException.class)
     public String accessDeniedException(AccessDeniedException exception) {
@@ -61,8 +73,14 @@ public class BaseExceptionHandler {
     }
 
     @ResponseStatus(UNAUTHORIZED)
-    @ExceptionHandler(UsernameNotFoundException.class)
-    public String userNitFoundExceptionHandler(UsernameNotFoundException exception) {
+    @ExceptionHandler(AuthenticationException.class)
+    public String userNitFoundExceptionHandler(AuthenticationException exception) {
         return exception.getMessage();
     }
+
+    @ResponseStatus(TOO_MANY_REQUESTS)
+    @ExceptionHandler(RejectedExecutionException.class)
+    public String rejectedExecutionExceptionHandler(RejectedExecutionException exception) {
+        return "Too many concurrent requests, retry later";
+    }
 }
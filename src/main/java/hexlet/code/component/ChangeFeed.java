@@ -0,0 +1,285 @@
+package hexlet.code.component;
+
+import hexlet.code.event.EntityChangedEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+/**
+ * Pushes committed entity changes to Server-Sent Events subscribers.
+ * Changes go to a bounded ring buffer and are numbered by a sequence that is also the SSE event id,
+ * so a client reconnecting with {@code Last-Event-ID} receives what it missed while that is still buffered.
+ * Each subscriber keeps its own position and is drained a batch at a time, heartbeats included, with at most
+ * one send in flight; an idle emitter holds no thread. Sends block on slow clients, so they run on an elastic pool
+ * bounded by the subscriber cap, where a stuck client holds only its own thread. A subscriber whose send has not
+ * returned within the send timeout gets nothing more and is completed once the write returns or fails, which
+ * the container's write timeout bounds. Subscriptions beyond the cap are rejected.
+ * A subscriber that falls further behind than the buffer, or resumes from an evicted id,
+ * gets a {@value #RESET_EVENT} event telling it to reload instead of an unbounded backlog.
+ * Event ids are prefixed with the start time of the feed, so ids of another node or an earlier run reset as well.
+ */
+@Component
+public class ChangeFeed implements DisposableBean {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESET_EVENT = "reset";
+    private static final int MAX_BATCH = 100;
+    private static final String ID_SEPARATOR = "-";
+
+    private final Change[] buffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int maxSubscribers;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService timer;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private long nextSequence = 1;
+
+    public ChangeFeed(@Value("${change-feed.capacity:4096}") final int capacity,
+                      @Value("${change-feed.max-subscribers:256}") final int maxSubscribers,
+                      @Value("${change-feed.timeout:30m}") final Duration timeout,
+                      @Value("${change-feed.heartbeat:25s}") final Duration heartbeat,
+                      @Value("${change-feed.send-timeout:10s}") final Duration sendTimeout) {
+        this.buffer = new Change[capacity];
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.senders = new ThreadPoolExecutor(0, maxSubscribers, 1, TimeUnit.MINUTES, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("change-feed-"));
+        this.timer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-feed-timer-"));
+        timer.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS);
+        timer.scheduleAtFixedRate(this::dropStalled, sendTimeout.toMillis(), sendTimeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener
+    public void onEntityChanged(final EntityChangedEvent event) {
+        synchronized (this) {
+            for (Long id : event.getIds()) {
+                buffer[slot(nextSequence++)] = new Change(event.getTypeName(), event.getChange(), id);
+            }
+        }
+        subscribers.forEach(this::schedule);
+    }
+
+    /**
+     * Opens a stream starting after {@code lastEventId}, or at the next change when it is null.
+     * Fails with {@link RejectedExecutionException}, answered with 429, when the feed is at its subscriber cap.
+     */
+    public SseEmitter subscribe(final String lastEventId) {
+        final Subscriber subscriber = new Subscriber(new SseEmitter(timeoutMillis));
+        synchronized (this) {
+            if (subscribers.size() >= maxSubscribers) {
+                throw new RejectedExecutionException("Change feed has " + maxSubscribers + " subscribers already");
+            }
+            subscribers.add(subscriber);
+            subscriber.position = nextSequence;
+            if (lastEventId != null) {
+                final long resumeAt = parseSequence(lastEventId) + 1;
+                if (resumeAt >= oldestSequence() && resumeAt <= nextSequence) {
+                    subscriber.position = resumeAt;
+                } else {
+                    subscriber.reset = true;
+                }
+            }
+        }
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void destroy() {
+        timer.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void schedule(final Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+                drop(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private void drain(final Subscriber subscriber) {
+        try {
+            if (!subscriber.dropped) {
+                send(subscriber, nextEvents(subscriber));
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        if (subscriber.dropped) {
+            subscriber.emitter.complete();
+        } else if (hasPending(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private synchronized List<SseEmitter.SseEventBuilder> nextEvents(final Subscriber subscriber) {
+        final List<SseEmitter.SseEventBuilder> events = new ArrayList<>();
+        if (subscriber.position < oldestSequence()) {
+            subscriber.reset = true;
+            subscriber.position = nextSequence;
+        }
+        if (subscriber.reset) {
+            events.add(SseEmitter.event()
+                    .id(eventId(subscriber.position - 1))
+                    .name(RESET_EVENT)
+                    .data(RESET_EVENT));
+            subscriber.reset = false;
+        }
+        final long end = Math.min(nextSequence, subscriber.position + MAX_BATCH);
+        for (long sequence = subscriber.position; sequence < end; sequence++) {
+            events.add(SseEmitter.event()
+                    .id(eventId(sequence))
+                    .name(CHANGE_EVENT)
+                    .data(buffer[slot(sequence)], APPLICATION_JSON));
+        }
+        subscriber.position = end;
+        if (events.isEmpty() && subscriber.heartbeatDue) {
+            events.add(SseEmitter.event().comment("heartbeat"));
+        }
+        subscriber.heartbeatDue = false;
+        return events;
+    }
+
+    private static void send(final Subscriber subscriber, final List<SseEmitter.SseEventBuilder> events)
+            throws IOException {
+        if (events.isEmpty()) {
+            return;
+        }
+        subscriber.sendingSince = System.nanoTime();
+        subscriber.sending = true;
+        try {
+            for (SseEmitter.SseEventBuilder event : events) {
+                subscriber.emitter.send(event);
+            }
+        } finally {
+            subscriber.sending = false;
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        });
+    }
+
+    /**
+     * Stops feeding subscribers stuck in a send. Their emitter cannot be completed while the send holds it,
+     * so the draining thread completes it when the write returns; one that has just returned is drained
+     * once more to be completed.
+     */
+    private void dropStalled() {
+        final long now = System.nanoTime();
+        subscribers.stream()
+                .filter(subscriber -> subscriber.sending && now - subscriber.sendingSince > sendTimeoutNanos)
+                .forEach(subscriber -> {
+                    drop(subscriber);
+                    schedule(subscriber);
+                });
+    }
+
+    private void drop(final Subscriber subscriber) {
+        subscriber.dropped = true;
+        subscribers.remove(subscriber);
+    }
+
+    private synchronized boolean hasPending(final Subscriber subscriber) {
+        return subscriber.reset || subscriber.position < nextSequence;
+    }
+
+    private long oldestSequence() {
+        return Math.max(1, nextSequence - buffer.length);
+    }
+
+    private int slot(final long sequence) {
+        return (int) (sequence % buffer.length);
+    }
+
+    private String eventId(final long sequence) {
+        return epoch + ID_SEPARATOR + sequence;
+    }
+
+    /**
+     * Returns the sequence of an event id of this feed, or -1 for any other id.
+     */
+    private long parseSequence(final String eventId) {
+        final String prefix = epoch + ID_SEPARATOR;
+        if (!eventId.startsWith(prefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Change {
+
+        private final String type;
+
+        private final EntityChangedEvent.Change change;
+
+        private final Long id;
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private long position;
+        private boolean reset;
+        private volatile boolean heartbeatDue;
+        private volatile boolean sending;
+        private volatile long sendingSince;
+        private volatile boolean dropped;
+
+        private Subscriber(final SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -1,41 +1,73 @@
 package hexlet.code.component;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Clock;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.impl.DefaultClock;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import static io.jsonwebtoken.SignatureAlgorithm.HS256;
-import static io.jsonwebtoken.impl.TextCodec.BASE64;
 
 @Component
 public class JWTHelper {
-    private final String secretKey;
+
+    public static final String USER_ID = "userId";
+    public static final String ROLE = "role";
+    public static final String SCOPE = "scope";
+    public static final String CHANGES_SCOPE = "changes";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(JWTHelper::sha256);
+
+    private final Key secretKey;
     private final String issuer;
     private final Long expirationSec;
-    private final Long clockSkewSec;
     private final Clock clock;
+    private final JwtParser parser;
+    private final Cache<ByteBuffer, Map<String, Object>> verifiedTokens;
 
     public JWTHelper(@Value("${jwt.issuer:task-manager}") final String issuer,
                      @Value("${jwt.expiration-sec:86400}") final Long expirationSec,
                      @Value("${jwt.clock-skew-sec:300}") final Long clockSkewSec,
-                     @Value("${jwt.secret:secret}") final String secret) {
-        this.secretKey = BASE64.encode(secret);
+                     @Value("${jwt.secret:secret}") final String secret,
+                     @Value("${jwt.cache-size:10000}") final long cacheSize) {
+        this.secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HS256.getJcaName());
         this.issuer = issuer;
         this.expirationSec = expirationSec;
-        this.clockSkewSec = clockSkewSec;
         this.clock = DefaultClock.INSTANCE;
+        this.parser = Jwts.parser()
+                .requireIssuer(issuer)
+                .setClock(clock)
+                .setAllowedClockSkewSeconds(clockSkewSec)
+                .setSigningKey(secretKey);
+        this.verifiedTokens = cacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(cacheSize).expireAfter(new UntilExpiration()).build()
+                : null;
     }
 
     public String expiring(final Map<String, Object> attributes) {
+        return expiring(attributes, expirationSec);
+    }
+
+    public String expiring(final Map<String, Object> attributes, final long expiresInSec) {
         return Jwts.builder()
                 .signWith(HS256, secretKey)
-                .setClaims(getClaims(attributes, expirationSec))
+                .setClaims(getClaims(attributes, expiresInSec))
                 .compact();
     }
 
@@ -50,13 +82,58 @@ public class JWTHelper {
         return claims;
     }
 
+    /**
+     * Returns the claims of a valid token. Tokens with an expiration are verified once and then served from
+     * a cache keyed by their SHA-256 hash until they expire, so the raw tokens are never kept in memory.
+     */
     public Map<String, Object> verify(final String token) {
-        return Jwts.parser()
-                .requireIssuer(issuer)
-                .setClock(clock)
-                .setAllowedClockSkewSeconds(clockSkewSec)
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
+        if (verifiedTokens == null) {
+            return parse(token);
+        }
+        final ByteBuffer key = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8)));
+        final Map<String, Object> cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Map<String, Object> claims = parse(token);
+        if (claims.get(Claims.EXPIRATION) != null) {
+            verifiedTokens.put(key, claims);
+        }
+        return claims;
+    }
+
+    private Map<String, Object> parse(final String token) {
+        return Collections.unmodifiableMap(parser.parseClaimsJws(token).getBody());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class UntilExpiration implements Expiry<ByteBuffer, Map<String, Object>> {
+
+        @Override
+        public long expireAfterCreate(final ByteBuffer key, final Map<String, Object> claims,
+                                      final long currentTime) {
+            final long expiresAtSec = ((Number) claims.get(Claims.EXPIRATION)).longValue();
+            final long remainingMillis = expiresAtSec * 1000 - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(final ByteBuffer key, final Map<String, Object> claims,
+                                      final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final ByteBuffer key, final Map<String, Object> claims,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
     }
 }
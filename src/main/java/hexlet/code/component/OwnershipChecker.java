@@ -0,0 +1,30 @@
+package hexlet.code.component;
+
+import hexlet.code.repository.UserRepository;
+import hexlet.code.service.UserService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Ownership checks for {@code @PreAuthorize} guards. Unknown ids fail with {@link NoSuchElementException},
+ * which is reported as 404. Task ownership is checked by the delete statement itself.
+ */
+@Component
+@AllArgsConstructor
+public class OwnershipChecker {
+
+    private final UserRepository userRepository;
+    private final UserService userService;
+
+    public boolean isCurrentUser(final long userId) {
+        if (userService.getCurrentUserId().equals(userId)) {
+            return true;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NoSuchElementException("User with id " + userId + " not found");
+        }
+        return false;
+    }
+}
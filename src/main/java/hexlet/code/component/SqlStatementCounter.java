@@ -0,0 +1,24 @@
+package hexlet.code.component;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNTER = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(final String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    public void reset() {
+        COUNTER.get()[0] = 0;
+    }
+
+    public int getCount() {
+        return COUNTER.get()[0];
+    }
+}
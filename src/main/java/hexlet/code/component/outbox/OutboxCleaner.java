@@ -0,0 +1,55 @@
+package hexlet.code.component.outbox;
+
+import hexlet.code.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Deletes messages delivered longer ago than the retention period, a bounded chunk per run,
+ * so the outbox stays small without long transactions or locks on rows being dispatched.
+ */
+@Component
+public class OutboxCleaner {
+
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int batchSize;
+    private final Counter cleaned;
+
+    public OutboxCleaner(final OutboxRepository outboxRepository,
+                         final PlatformTransactionManager transactionManager,
+                         final MeterRegistry meterRegistry,
+                         @Value("${outbox.retention:7d}") final Duration retention,
+                         @Value("${outbox.cleanup.batch-size:1000}") final int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.cleaned = meterRegistry.counter("outbox.cleaned");
+    }
+
+    /**
+     * Deletes a chunk of expired messages and returns their number.
+     */
+    @Scheduled(fixedDelayString = "${outbox.cleanup.interval:PT1M}")
+    public int cleanup() {
+        final Date cutoff = new Date(System.currentTimeMillis() - retention.toMillis());
+        final int deleted = transactionTemplate.execute(status -> {
+            final List<Long> ids = outboxRepository.findDeliveredBefore(cutoff, PageRequest.of(0, batchSize));
+            return ids.isEmpty() ? 0 : outboxRepository.deleteByIds(ids);
+        });
+        cleaned.increment(deleted);
+        return deleted;
+    }
+}
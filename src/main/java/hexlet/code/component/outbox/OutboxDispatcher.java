@@ -0,0 +1,111 @@
+package hexlet.code.component.outbox;
+
+import hexlet.code.model.OutboxMessage;
+import hexlet.code.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox to the {@link OutboxSink} in batches. Each batch is claimed, published and marked delivered
+ * in one transaction: claimed rows stay locked until it ends and are skipped by the dispatchers of other nodes,
+ * and a failed publish rolls the batch back to be claimed again, so delivery is at least once and in id order
+ * per node.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter dispatched;
+    private final Counter failures;
+    private final Timer deliveryLag;
+
+    public OutboxDispatcher(final OutboxRepository outboxRepository,
+                            final OutboxSink sink,
+                            final PlatformTransactionManager transactionManager,
+                            final MeterRegistry meterRegistry,
+                            @Value("${outbox.dispatcher.batch-size:100}") final int batchSize,
+                            @Value("${outbox.dispatcher.max-batches:50}") final int maxBatches) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.dispatched = meterRegistry.counter("outbox.dispatched");
+        this.failures = meterRegistry.counter("outbox.dispatch.failures");
+        this.deliveryLag = Timer.builder("outbox.delivery.lag")
+                .description("Time from writing a message to delivering it")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        TimeGauge.builder("outbox.lag", this, TimeUnit.MILLISECONDS, OutboxDispatcher::oldestUndeliveredAge)
+                .description("Age of the oldest undelivered message")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Delivers up to {@code max-batches} batches and returns the number of delivered messages.
+     */
+    @Scheduled(fixedDelayString = "${outbox.dispatcher.interval:PT1S}")
+    public int dispatch() {
+        int delivered = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            final int count;
+            try {
+                count = transactionTemplate.execute(status -> dispatchBatch());
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Outbox dispatch failed, the batch will be retried", e);
+                break;
+            }
+            delivered += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private int dispatchBatch() {
+        final List<OutboxMessage> messages = outboxRepository.claimUndelivered(PageRequest.of(0, batchSize));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        try {
+            sink.publish(messages);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Outbox sink failed", e);
+        }
+        final Date now = new Date();
+        outboxRepository.markDelivered(messages.stream().map(OutboxMessage::getId).collect(Collectors.toList()), now);
+        messages.forEach(message -> deliveryLag.record(now.getTime() - message.getCreatedAt().getTime(),
+                TimeUnit.MILLISECONDS));
+        dispatched.increment(messages.size());
+        return messages.size();
+    }
+
+    private double oldestUndeliveredAge() {
+        return outboxRepository.findFirstByDeliveredAtIsNullOrderByIdAsc()
+                .map(message -> System.currentTimeMillis() - message.getCreatedAt().getTime())
+                .orElse(0L);
+    }
+}
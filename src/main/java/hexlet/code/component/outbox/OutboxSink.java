@@ -0,0 +1,16 @@
+package hexlet.code.component.outbox;
+
+import hexlet.code.model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Destination of the dispatched outbox messages. A batch is marked delivered only when {@link #publish} returns,
+ * so a sink may see a batch again after a failure and consumers should ignore messages with a known id.
+ */
+public interface OutboxSink {
+
+    String SINK_PROPERTY = "outbox.sink";
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
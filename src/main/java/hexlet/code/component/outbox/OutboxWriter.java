@@ -0,0 +1,36 @@
+package hexlet.code.component.outbox;
+
+import hexlet.code.event.EntityChangedEvent;
+import hexlet.code.model.OutboxMessage;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+/**
+ * Writes an outbox message per changed entity in the transaction that changed it, right before it commits,
+ * so a message exists exactly when its change is committed and services make no call outside the database.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final int INSERT_BATCH_SIZE = 50;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onEntityChanged(final EntityChangedEvent event) {
+        int written = 0;
+        for (Long id : event.getIds()) {
+            entityManager.persist(new OutboxMessage(event.getTypeName(), id, event.getChange()));
+            written++;
+            if (written % INSERT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+    }
+}
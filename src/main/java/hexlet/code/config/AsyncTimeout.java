@@ -0,0 +1,19 @@
+package hexlet.code.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Async timeout of a handler method that streams or otherwise outlives the {@code spring.mvc.async.request-timeout}
+ * default, as a duration such as {@code 1h} or a property placeholder resolving to one.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AsyncTimeout {
+
+    String value();
+}
@@ -1,38 +1,121 @@
 package hexlet.code.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
 import org.springframework.web.servlet.resource.PathResourceResolver;
 
+import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+import static org.springframework.web.context.request.RequestAttributes.SCOPE_REQUEST;
 
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
 
+    private static final String STATIC_PATH = "/static/";
+    private static final int RESOLVED_RESOURCES_CACHE_SIZE = 1000;
+    private static final CacheControl FINGERPRINTED = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable();
+    private static final CacheControl UNVERSIONED = CacheControl.maxAge(Duration.ofHours(1)).cachePublic();
+
     private final String baseApiPath;
+    private final Duration asyncRequestTimeout;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final Environment environment;
+    private final Map<Method, Long> handlerTimeouts = new ConcurrentHashMap<>();
 
-    public WebConfiguration(@Value("${base-url}") String baseApiPath) {
+    public WebConfiguration(@Value("${base-url}") String baseApiPath,
+                            @Value("${spring.mvc.async.request-timeout:30s}") Duration asyncRequestTimeout,
+                            @Qualifier(APPLICATION_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor applicationTaskExecutor,
+                            Environment environment) {
         this.baseApiPath = baseApiPath;
+        this.asyncRequestTimeout = asyncRequestTimeout;
+        this.applicationTaskExecutor = applicationTaskExecutor;
+        this.environment = environment;
+    }
+
+    /**
+     * {@code @EnableWebMvc} on the Rollbar configuration switches off Boot's MVC auto-configuration,
+     * so the async timeout and executor are applied here. Handlers annotated with {@link AsyncTimeout}
+     * get their own timeout instead of the default.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                final Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                        SCOPE_REQUEST);
+                if (handler instanceof HandlerMethod && request instanceof AsyncWebRequest) {
+                    final Long timeout = handlerTimeout(((HandlerMethod) handler).getMethod());
+                    if (timeout != null) {
+                        ((AsyncWebRequest) request).setTimeout(timeout);
+                    }
+                }
+            }
+        });
     }
 
+    /**
+     * The build puts a content hash in every file name under {@code /static}, so those are cached for a year and
+     * never revalidated; the other files of the build root keep their names and are cached for an hour.
+     * The {@code index.html} served for any client-side route must be revalidated on each use, which is cheap
+     * with the ETag of {@link #etagFilter()}. Each chain serves the {@code .br} or {@code .gz} file written
+     * next to the original by the frontend build when the client accepts it, and remembers resolved resources
+     * so repeated requests do not look up the classpath.
+     */
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         registry
-                .addResourceHandler("/static/**")
-                .addResourceLocations("classpath:/static/static/");
+                .addResourceHandler(STATIC_PATH + "**")
+                .setCacheControl(FINGERPRINTED)
+                .addResourceLocations("classpath:/static/static/")
+                .resourceChain(true, resolvedResources("fingerprinted"))
+                .addResolver(new EncodedResourceResolver());
 
         registry
                 .addResourceHandler("/*.*")
-                .addResourceLocations("classpath:/static/");
+                .setCacheControl(UNVERSIONED)
+                .addResourceLocations("classpath:/static/")
+                .resourceChain(true, resolvedResources("unversioned"))
+                .addResolver(new EncodedResourceResolver());
 
         registry
                 .addResourceHandler("/", "/**")
-                .setCachePeriod(0)
+                .setCacheControl(CacheControl.noCache())
                 .addResourceLocations("classpath:/static/index.html")
-                .resourceChain(true)
+                .resourceChain(true, resolvedResources("index"))
+                .addResolver(new EncodedResourceResolver())
                 .addResolver(new PathResourceResolver() {
                     @Override
                     protected Resource getResource(String resourcePath, Resource location) throws IOException {
@@ -44,4 +127,35 @@ public class WebConfiguration implements WebMvcConfigurer {
                     }
                 });
     }
+
+    /**
+     * ETag for pages and other responses without one, so a revalidated {@code index.html} is answered
+     * with 304 and no body. Fingerprinted assets are cached without revalidation and API responses
+     * set their own ETags or are streamed, so both are left out rather than buffered.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        final var registration = new FilterRegistrationBean<ShallowEtagHeaderFilter>(new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                final String path = request.getRequestURI().substring(request.getContextPath().length());
+                return path.startsWith(baseApiPath + "/") || path.startsWith(STATIC_PATH);
+            }
+        });
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+
+    private Long handlerTimeout(Method method) {
+        final AsyncTimeout annotation = method.getAnnotation(AsyncTimeout.class);
+        if (annotation == null) {
+            return null;
+        }
+        return handlerTimeouts.computeIfAbsent(method, key -> DurationStyle.detectAndParse(
+                environment.resolveRequiredPlaceholders(annotation.value())).toMillis());
+    }
+
+    private static Cache resolvedResources(String name) {
+        return new CaffeineCache(name, Caffeine.newBuilder().maximumSize(RESOLVED_RESOURCES_CACHE_SIZE).build());
+    }
 }
@@ -0,0 +1,47 @@
+package hexlet.code.config.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TASK_STATUSES = "taskStatuses";
+    public static final String LABELS = "labels";
+    public static final String TASK_STATS = "taskStats";
+    public static final String ALL_KEY = "'all'";
+    public static final String VERSION_KEY = "'version'";
+
+    /**
+     * Catalog caches are bounded by the Caffeine spec and evicted only after the writing transaction commits,
+     * so a rolled back write never empties or refills them. Puts are deferred to the commit of the reading
+     * transaction as well, and are dropped when a write was evicted since the read, see {@link WriteGenerationCache}.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${spring.cache.caffeine.spec}") final String spec) {
+        final CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache createCaffeineCache(final String name) {
+                return new WriteGenerationCache(super.createCaffeineCache(name));
+            }
+        };
+        cacheManager.setCacheNames(List.of(TASK_STATUSES, LABELS, TASK_STATS));
+        cacheManager.setCacheSpecification(spec);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<WriteGenerationCache> writeGenerationCacheMeterBinderProvider() {
+        return new WriteGenerationCacheMeterBinderProvider();
+    }
+}
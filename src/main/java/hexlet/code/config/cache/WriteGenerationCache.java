@@ -0,0 +1,132 @@
+package hexlet.code.config.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Drops puts of values that may have been loaded before a write. Every eviction bumps a generation, and a put
+ * is applied only when no eviction happened since the same thread missed the key. A read transaction that
+ * loaded a row before a concurrent write committed, and puts it after that write's eviction, therefore leaves
+ * the cache empty instead of stale until the entry expires.
+ * Puts and evictions are serialized by the cache, so a put cannot slip in between a check and an eviction.
+ * Misses are remembered only until the reading transaction completes, as a miss that is not cached or a rolled
+ * back read never reaches a put. Outside a transaction the put follows the load directly and nothing is remembered.
+ */
+public final class WriteGenerationCache implements Cache {
+
+    private final Cache target;
+    private final ThreadLocal<Map<Object, Long>> missGenerations = ThreadLocal.withInitial(HashMap::new);
+    private volatile long generation;
+
+    WriteGenerationCache(final Cache target) {
+        this.target = target;
+    }
+
+    Cache getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the number of misses of the calling thread still waiting for their put.
+     */
+    public int getPendingMissCount() {
+        return missGenerations.get().size();
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key) {
+        final long current = generation;
+        final ValueWrapper value = target.get(key);
+        if (value == null) {
+            rememberMiss(key, current);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type) {
+        final long current = generation;
+        final T value = target.get(key, type);
+        if (value == null) {
+            rememberMiss(key, current);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    private void rememberMiss(final Object key, final long current) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        final Map<Object, Long> misses = missGenerations.get();
+        if (misses.isEmpty()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    missGenerations.remove();
+                }
+            });
+        }
+        misses.put(key, current);
+    }
+
+    @Override
+    public synchronized void put(final Object key, final Object value) {
+        final Long missGeneration = missGenerations.get().remove(key);
+        if (missGeneration == null || missGeneration == generation) {
+            target.put(key, value);
+        }
+    }
+
+    @Override
+    public synchronized ValueWrapper putIfAbsent(final Object key, final Object value) {
+        final Long missGeneration = missGenerations.get().remove(key);
+        if (missGeneration == null || missGeneration == generation) {
+            return target.putIfAbsent(key, value);
+        }
+        return target.get(key);
+    }
+
+    @Override
+    public synchronized void evict(final Object key) {
+        generation++;
+        target.evict(key);
+    }
+
+    @Override
+    public synchronized boolean evictIfPresent(final Object key) {
+        generation++;
+        return target.evictIfPresent(key);
+    }
+
+    @Override
+    public synchronized void clear() {
+        generation++;
+        target.clear();
+    }
+
+    @Override
+    public synchronized boolean invalidate() {
+        generation++;
+        return target.invalidate();
+    }
+}
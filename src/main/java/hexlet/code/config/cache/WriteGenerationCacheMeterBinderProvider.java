@@ -0,0 +1,24 @@
+package hexlet.code.config.cache;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.CaffeineCacheMeterBinderProvider;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Binds the statistics of the Caffeine cache behind a {@link WriteGenerationCache}, which the registrar
+ * would otherwise skip, as it unwraps only the transaction-aware decorator.
+ */
+final class WriteGenerationCacheMeterBinderProvider implements CacheMeterBinderProvider<WriteGenerationCache> {
+
+    private final CaffeineCacheMeterBinderProvider caffeine = new CaffeineCacheMeterBinderProvider();
+
+    @Override
+    public MeterBinder getMeterBinder(final WriteGenerationCache cache, final Iterable<Tag> tags) {
+        if (cache.getTarget() instanceof CaffeineCache) {
+            return caffeine.getMeterBinder((CaffeineCache) cache.getTarget(), tags);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,107 @@
+package hexlet.code.config.jpa;
+
+import com.zaxxer.hikari.HikariDataSource;
+import liquibase.integration.spring.SpringLiquibase;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adds a read pool next to the primary one when {@code datasource.replica.url} is set,
+ * see {@link ReadWriteRoutingDataSource} for which transactions use it.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.url:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+    public static final String REPLICA_DATA_SOURCE = "replicaDataSource";
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(PRIMARY_DATA_SOURCE)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            @Qualifier("primaryDataSourceProperties") final DataSourceProperties properties) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(REPLICA_DATA_SOURCE)
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Qualifier("replicaDataSourceProperties") final DataSourceProperties properties) {
+        final HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Migrates a replica that is a database of its own, such as the second H2 database of the local profile.
+     * Not a {@link SpringLiquibase} bean, which would switch off the auto-configured migration of the primary.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "datasource.replica.liquibase.enabled", havingValue = "true")
+    public InitializingBean replicaMigration(
+            @Qualifier("replicaDataSourceProperties") final DataSourceProperties properties,
+            @Value("${spring.liquibase.change-log}") final String changeLog,
+            final ResourceLoader resourceLoader) {
+        final SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(properties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class)
+                .build());
+        liquibase.setChangeLog(changeLog);
+        liquibase.setResourceLoader(resourceLoader);
+        return liquibase::afterPropertiesSet;
+    }
+
+    /**
+     * The data source JPA and Liquibase use. Physical connections are fetched lazily, once the transaction
+     * is known to be read-only or not.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier(PRIMARY_DATA_SOURCE) final DataSource primary,
+                                 @Qualifier(REPLICA_DATA_SOURCE) final DataSource replica,
+                                 @Value("${datasource.replica.sticky-window:2s}") final Duration stickyWindow) {
+        final ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(stickyWindow);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,66 @@
+package hexlet.code.config.jpa;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Sends connections of read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * Must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the JPA
+ * transaction manager asks for a connection before it marks the transaction read-only.
+ * A user whose read-write transaction has just committed reads from the primary for the sticky window, so they
+ * see their own writes despite replication lag. Rolled back transactions leave nothing to wait for.
+ */
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadWriteRoutingDataSource(final Duration stickyWindow) {
+        this.recentWriters = stickyWindow.isZero()
+                ? null
+                : Caffeine.newBuilder().expireAfterWrite(stickyWindow).build();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (recentWriters == null) {
+            return readOnly ? Route.REPLICA : Route.PRIMARY;
+        }
+        final String user = currentUser();
+        if (!readOnly) {
+            if (user != null && TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recentWriters.put(user, Boolean.TRUE);
+                    }
+                });
+            }
+            return Route.PRIMARY;
+        }
+        return user != null && recentWriters.getIfPresent(user) != null ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    private static String currentUser() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
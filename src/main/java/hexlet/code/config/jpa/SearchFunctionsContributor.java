@@ -0,0 +1,25 @@
+package hexlet.code.config.jpa;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the Postgres full-text functions used by {@link hexlet.code.repository.impl.PostgresTaskSearchIndex}.
+ * The document expression must stay identical to the one of the {@code IDX_TASKS_SEARCH} GIN index,
+ * otherwise the planner does not use it.
+ */
+public class SearchFunctionsContributor implements MetadataBuilderContributor {
+
+    private static final String DOCUMENT = "to_tsvector('simple', coalesce(?1, '') || ' ' || coalesce(?2, ''))";
+    private static final String QUERY = "to_tsquery('simple', ?3)";
+
+    @Override
+    public void contribute(final MetadataBuilder metadataBuilder) {
+        metadataBuilder.applySqlFunction("fts_match",
+                new SQLFunctionTemplate(StandardBasicTypes.BOOLEAN, "(" + DOCUMENT + " @@ " + QUERY + ")"));
+        metadataBuilder.applySqlFunction("fts_rank",
+                new SQLFunctionTemplate(StandardBasicTypes.FLOAT, "ts_rank(" + DOCUMENT + ", " + QUERY + ")"));
+    }
+}
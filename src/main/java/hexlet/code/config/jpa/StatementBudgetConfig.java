@@ -0,0 +1,34 @@
+package hexlet.code.config.jpa;
+
+import hexlet.code.component.SqlStatementCounter;
+import hexlet.code.filter.StatementBudgetFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StatementBudgetConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(final SqlStatementCounter counter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, counter);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "sql-budget", name = "max-statements")
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(
+            final SqlStatementCounter counter,
+            @Value("${base-url}") final String baseUrl,
+            @Value("${sql-budget.max-statements}") final int maxStatements,
+            @Value("${sql-budget.fail-on-exceed:false}") final boolean failOnExceed) {
+        final var registration = new FilterRegistrationBean<>(
+                new StatementBudgetFilter(counter, maxStatements, failOnExceed)
+        );
+        registration.addUrlPatterns(baseUrl + "/*");
+        return registration;
+    }
+}
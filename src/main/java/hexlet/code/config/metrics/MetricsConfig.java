@@ -0,0 +1,47 @@
+package hexlet.code.config.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String HANDLER_TAG = "handler";
+    private static final Tag NO_HANDLER = Tag.of(HANDLER_TAG, "none");
+
+    /**
+     * Tags every {@code http.server.requests} timer with the controller method that served it,
+     * e.g. {@code handler="TaskController.getFilteredTasks"}, so dashboards and alerts can select an endpoint
+     * by name rather than by HTTP method and URI template.
+     */
+    @Bean
+    public WebMvcTagsContributor handlerTagsContributor() {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(final HttpServletRequest request, final HttpServletResponse response,
+                                         final Object handler, final Throwable exception) {
+                return Tags.of(handlerTag(handler));
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(final HttpServletRequest request, final Object handler) {
+                return Tags.of(handlerTag(handler));
+            }
+        };
+    }
+
+    private static Tag handlerTag(final Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return NO_HANDLER;
+        }
+        final HandlerMethod method = (HandlerMethod) handler;
+        return Tag.of(HANDLER_TAG, method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+    }
+}
@@ -0,0 +1,14 @@
+package hexlet.code.config.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the outbox dispatcher and cleaner on their schedules; turned off where they are driven by hand, as in tests.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "outbox.dispatcher.enabled", matchIfMissing = true)
+public class OutboxConfig {
+}
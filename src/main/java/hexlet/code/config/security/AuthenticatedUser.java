@@ -0,0 +1,25 @@
+package hexlet.code.config.security;
+
+import hexlet.code.model.Role;
+import hexlet.code.model.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * User details that keep the id and role, so they can be put into the token issued on login.
+ */
+@Getter
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+
+    private final Long id;
+    private final Role role;
+
+    public AuthenticatedUser(final User user, final Collection<? extends GrantedAuthority> authorities) {
+        super(user.getEmail(), user.getPassword(), authorities);
+        this.id = user.getId();
+        this.role = Objects.requireNonNullElse(user.getRole(), Role.USER);
+    }
+}
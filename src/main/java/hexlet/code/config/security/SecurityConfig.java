@@ -1,7 +1,6 @@
 package hexlet.code.config.security;
 
 import hexlet.code.component.JWTHelper;
-import hexlet.code.filter.JWTAuthenticationFilter;
 import hexlet.code.filter.JWTAuthorizationFilter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +21,7 @@ import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import java.util.List;
 
+import static hexlet.code.controller.ChangeFeedController.CHANGES_PATH;
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
@@ -36,7 +36,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     public static final List<GrantedAuthority> DEFAULT_AUTHORITIES = List.of(new SimpleGrantedAuthority("user"));
 
     private final RequestMatcher publicUrls;
-    private final RequestMatcher loginRequest;
+    private final RequestMatcher changesUrls;
     private final UserDetailsService userDetailsService;
     private final PasswordEncoder passwordEncoder;
     private final JWTHelper jwtHelper;
@@ -44,13 +44,13 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     public SecurityConfig(@Value("${base-url}") final String baseUrl,
                           final UserDetailsService userDetailsService,
                           final PasswordEncoder passwordEncoder, final JWTHelper jwtHelper) {
-        this.loginRequest = new AntPathRequestMatcher(baseUrl + LOGIN, POST.toString());
         this.publicUrls = new OrRequestMatcher(
-                loginRequest,
+                new AntPathRequestMatcher(baseUrl + LOGIN, POST.toString()),
                 new AntPathRequestMatcher(baseUrl + USER_CONTROLLER_PATH, POST.toString()),
                 new AntPathRequestMatcher(baseUrl + USER_CONTROLLER_PATH, GET.toString()),
                 new NegatedRequestMatcher(new AntPathRequestMatcher(baseUrl + "/**"))
         );
+        this.changesUrls = new AntPathRequestMatcher(baseUrl + CHANGES_PATH, GET.toString());
         this.userDetailsService = userDetailsService;
         this.passwordEncoder = passwordEncoder;
         this.jwtHelper = jwtHelper;
@@ -64,14 +64,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Override
     public void configure(final HttpSecurity http) throws Exception {
-        final var authenticationFilter = new JWTAuthenticationFilter(
-                authenticationManagerBean(),
-                loginRequest,
-                jwtHelper
-        );
-
         final var authorizationFilter = new JWTAuthorizationFilter(
                 publicUrls,
+                changesUrls,
                 jwtHelper
         );
 
@@ -80,7 +75,6 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .requestMatchers(publicUrls).permitAll()
                 .anyRequest().authenticated()
                 .and()
-                .addFilter(authenticationFilter)
                 .addFilterBefore(authorizationFilter, UsernamePasswordAuthenticationFilter.class)
                 .sessionManagement().disable()
                 .formLogin().disable()
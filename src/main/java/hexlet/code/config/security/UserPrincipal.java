@@ -0,0 +1,39 @@
+package hexlet.code.config.security;
+
+import hexlet.code.model.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.Optional;
+
+import static hexlet.code.component.JWTHelper.ROLE;
+import static hexlet.code.component.JWTHelper.USER_ID;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+
+/**
+ * Authenticated user restored from the token claims, without a database lookup.
+ * The id and role are null for tokens issued before they were added to the claims.
+ */
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements Principal {
+
+    private final Long id;
+    private final String email;
+    private final Role role;
+
+    public static UserPrincipal fromClaims(final Map<String, Object> claims) {
+        return new UserPrincipal(
+                Optional.ofNullable((Number) claims.get(USER_ID)).map(Number::longValue).orElse(null),
+                claims.get(SPRING_SECURITY_FORM_USERNAME_KEY).toString(),
+                Optional.ofNullable(claims.get(ROLE)).map(Object::toString).map(Role::valueOf).orElse(null)
+        );
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,79 @@
+package hexlet.code.config.threads;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME;
+import static org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME;
+
+/**
+ * Runs Tomcat request handling and application async work on virtual threads when the profile is active
+ * and the JDK provides them. On other JDKs the default platform thread pools stay in place.
+ * The project targets Java 17, so the JDK factory method is looked up reflectively.
+ */
+@Slf4j
+@Configuration
+@Profile(VirtualThreadsConfig.PROFILE)
+public class VirtualThreadsConfig {
+
+    public static final String PROFILE = "virtual-threads";
+
+    public VirtualThreadsConfig() {
+        if (VirtualThreadsSupported.isSupported()) {
+            log.info("Handling requests on virtual threads");
+        } else {
+            log.warn("Virtual threads are not available on Java {}, using platform threads",
+                    System.getProperty("java.version"));
+        }
+    }
+
+    @Bean
+    @Conditional(VirtualThreadsSupported.class)
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadsProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(newVirtualThreadPerTaskExecutor());
+    }
+
+    @Bean(name = {APPLICATION_TASK_EXECUTOR_BEAN_NAME, DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @Conditional(VirtualThreadsSupported.class)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available", e);
+        }
+    }
+
+    static final class VirtualThreadsSupported implements Condition {
+
+        @Override
+        public boolean matches(final ConditionContext context, final AnnotatedTypeMetadata metadata) {
+            return isSupported();
+        }
+
+        static boolean isSupported() {
+            try {
+                newVirtualThreadPerTaskExecutor().shutdown();
+                return true;
+            } catch (IllegalStateException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package hexlet.code.controller;
+
+import hexlet.code.component.ChangeFeed;
+import hexlet.code.service.LoginService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static hexlet.code.controller.ChangeFeedController.CHANGES_PATH;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("${base-url}" + CHANGES_PATH)
+public class ChangeFeedController {
+
+    public static final String CHANGES_PATH = "/changes";
+    public static final String TOKEN_PATH = "/token";
+    public static final String LAST_EVENT_ID = "Last-Event-ID";
+    public static final String ACCESS_TOKEN = "access_token";
+    private final ChangeFeed changeFeed;
+    private final LoginService loginService;
+
+
+    @Operation(summary = "Stream task, label, status and user changes")
+    @ApiResponse(responseCode = "200", description = "Server-Sent Events named change with type, change and id, "
+            + "or reset when the missed changes are no longer available and lists should be reloaded")
+    @GetMapping(produces = TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(
+            @Parameter(description = "Id of the last event received, to resume after a reconnect")
+            @RequestHeader(value = LAST_EVENT_ID, required = false) final String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
+
+    @Operation(summary = "Issue a short-lived token for the change stream")
+    @ApiResponse(responseCode = "200", description = "Token to pass as the " + ACCESS_TOKEN
+            + " query parameter of the stream, for clients such as EventSource that cannot set headers")
+    @PostMapping(TOKEN_PATH)
+    public String issueToken() {
+        return loginService.issueChangesToken();
+    }
+}
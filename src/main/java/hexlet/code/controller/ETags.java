@@ -0,0 +1,79 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.ListVersion;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+
+/**
+ * Entity tags derived from {@code @Version} columns: strong {@code "id-version"} tags for single resources,
+ * {@code "id-version-referencesVersion"} for those that embed other rows, and weak tags for lists.
+ */
+final class ETags {
+
+    /**
+     * Lets clients keep responses but revalidate them on every use, instead of the no-store default.
+     */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final String ANY = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final int MAX_VERSION_DIGITS = 18;
+
+    private ETags() {
+    }
+
+    static String of(final long id, final long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(final long id, final long version, final long referencesVersion) {
+        return "\"" + id + "-" + version + "-" + referencesVersion + "\"";
+    }
+
+    static String of(final ListVersion listVersion) {
+        return WEAK_PREFIX + "\"" + listVersion.getCount() + "-" + listVersion.getMaxId()
+                + "-" + listVersion.getVersionSum() + "\"";
+    }
+
+    /**
+     * Answers 304 when {@code If-None-Match} has the given tag. Otherwise answers 200 with the body of the
+     * supplier, so an unchanged resource is not serialized. Lists are tagged from a version query and loaded
+     * only by the supplier; single resources are loaded to compute their tag, and a 304 saves just the body.
+     */
+    static <T> ResponseEntity<T> conditionalGet(final WebRequest request, final String eTag,
+                                                final Supplier<T> body) {
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(body.get());
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header expects the resource to have, or {@code null} when
+     * any version is accepted. Weak tags and tags of another resource never match. The versions of embedded rows
+     * are ignored, as a write replaces only the resource's own columns.
+     */
+    static Long expectedVersion(final String ifMatch, final long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        final String tag = ifMatch.trim();
+        final String prefix = "\"" + id + "-";
+        if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length()) {
+            final String versions = tag.substring(prefix.length(), tag.length() - 1);
+            final int referencesStart = versions.indexOf('-');
+            final String version = referencesStart < 0 ? versions : versions.substring(0, referencesStart);
+            if (!version.isEmpty() && version.length() <= MAX_VERSION_DIGITS
+                    && version.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(version);
+            }
+        }
+        throw new OptimisticLockingFailureException("If-Match " + ifMatch + " does not match the current version");
+    }
+}
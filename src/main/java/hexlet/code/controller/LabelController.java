@@ -2,7 +2,6 @@ package hexlet.code.controller;
 
 import hexlet.code.dto.LabelDto;
 import hexlet.code.model.Label;
-import hexlet.code.repository.LabelRepository;
 import hexlet.code.service.LabelService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,20 +9,24 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
 
 import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @AllArgsConstructor
@@ -34,14 +37,14 @@ public class LabelController {
     public static final String LABEL_CONTROLLER_PATH = "/labels";
     public static final String ID = "/{id}";
     private final LabelService labelService;
-    private final LabelRepository labelRepository;
 
 
     @ApiResponses(@ApiResponse(responseCode = "200"))
     @Operation(summary = "Get label by ID")
     @GetMapping(ID)
-    public Label getLabelById(@PathVariable final Long id) {
-        return labelRepository.getById(id);
+    public ResponseEntity<Label> getLabelById(@PathVariable final Long id, final WebRequest request) {
+        final Label label = labelService.getLabelById(id);
+        return ETags.conditionalGet(request, ETags.of(label.getId(), label.getVersion()), () -> label);
     }
 
 
@@ -49,8 +52,8 @@ public class LabelController {
     @ApiResponses(@ApiResponse(responseCode = "200",
             content = @Content(schema = @Schema(implementation = Label.class))))
     @GetMapping
-    public List<Label> getLabels() {
-        return labelRepository.findAll();
+    public ResponseEntity<List<Label>> getLabels(final WebRequest request) {
+        return ETags.conditionalGet(request, ETags.of(labelService.getLabelsVersion()), labelService::getAllLabels);
     }
 
 
@@ -66,8 +69,9 @@ public class LabelController {
     @Operation(summary = "Update label")
     @ApiResponse(responseCode = "200", description = "Label updated")
     @PutMapping(ID)
-    public Label updateLabel(@RequestBody @Valid final LabelDto dto, @PathVariable long id) {
-        return labelService.updateLabel(id, dto);
+    public Label updateLabel(@RequestBody @Valid final LabelDto dto, @PathVariable long id,
+                             @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return labelService.updateLabel(id, dto, ETags.expectedVersion(ifMatch, id));
     }
 
 
@@ -75,6 +79,6 @@ public class LabelController {
     @ApiResponse(responseCode = "200", description = "Label deleted")
     @DeleteMapping(ID)
     public void deleteLabel(@PathVariable long id) {
-        labelRepository.deleteById(id);
+        labelService.deleteLabel(id);
     }
 }
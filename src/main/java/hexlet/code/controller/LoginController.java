@@ -0,0 +1,36 @@
+package hexlet.code.controller;
+
+import hexlet.code.dto.LoginDto;
+import hexlet.code.service.LoginService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+import static hexlet.code.config.security.SecurityConfig.LOGIN;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("${base-url}")
+public class LoginController {
+
+    private final LoginService loginService;
+
+
+    @Operation(summary = "Log in")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "JWT token"),
+        @ApiResponse(responseCode = "401", description = "Bad credentials"),
+        @ApiResponse(responseCode = "429", description = "Too many concurrent login attempts")
+    })
+    @PostMapping(LOGIN)
+    public CompletableFuture<String> login(@RequestBody final LoginDto loginDto) {
+        return loginService.login(loginDto);
+    }
+}
@@ -1,7 +1,14 @@
 package hexlet.code.controller;
 
 import com.querydsl.core.types.Predicate;
+import hexlet.code.config.AsyncTimeout;
+import hexlet.code.dto.TaskBatchResult;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPage;
+import hexlet.code.dto.TaskPatchDto;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskView;
+import hexlet.code.exception.BadRequestException;
 import hexlet.code.model.Task;
 import hexlet.code.repository.TaskRepository;
 
@@ -13,23 +20,38 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
-import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
 
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
+import static hexlet.code.repository.TaskRepository.FILTER_PARAMETERS;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.UNPROCESSABLE_ENTITY;
 
 @AllArgsConstructor
 @RestController
@@ -38,27 +60,98 @@ public class TaskController {
 
     public static final String TASK_CONTROLLER_PATH = "/tasks";
     public static final String ID = "/{id}";
-    private final TaskRepository taskRepository;
+    public static final String EXPORT_PATH = "/export";
+    public static final String BATCH_PATH = "/batch";
+    public static final String SEARCH_PATH = "/search";
+    public static final String STATS_PATH = "/stats";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final Set<String> PAGING_PARAMETERS = Set.of("cursor", "size");
+    private static final String SEARCH_PARAMETER = "q";
     private final TaskService taskService;
-    private static final String TASK_OWNER =
-            "@taskRepository.findById(#id).get().getAuthor().getEmail() == authentication.getName()";
 
 
     @Operation(summary = "Get filtered tasks")
-    @ApiResponse(responseCode = "200", description = "List of filtered tasks")
+    @ApiResponse(responseCode = "200", description = "Page of filtered tasks ordered by creation date")
     @GetMapping
-    public Iterable<Task> getFilteredTasks(
+    public ResponseEntity<List<TaskView>> getFilteredTasks(
             @Parameter(description = "Predicate based on query params")
-            @QuerydslPredicate(root = Task.class) Predicate predicate) {
-        return taskRepository.findAll(predicate);
+            @QuerydslPredicate(root = Task.class, bindings = TaskRepository.class) Predicate predicate,
+            @Parameter(description = "Opaque cursor from the " + NEXT_CURSOR_HEADER + " header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @Parameter(hidden = true) @RequestParam MultiValueMap<String, String> parameters,
+            final WebRequest request) {
+        rejectUnsupportedFilters(parameters.keySet());
+        if (request.checkNotModified(ETags.of(taskService.getTasksVersion(predicate)))) {
+            return ResponseEntity.status(NOT_MODIFIED).build();
+        }
+        final TaskPage page = taskService.getTasks(predicate, cursor, Math.min(size, MAX_PAGE_SIZE));
+        final var response = ResponseEntity.ok().cacheControl(ETags.REVALIDATE);
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getTasks());
+    }
+
+
+    @Operation(summary = "Search tasks by words of their name and description")
+    @ApiResponse(responseCode = "200", description = "Page of matching tasks, best matches first")
+    @GetMapping(SEARCH_PATH)
+    public ResponseEntity<List<TaskView>> searchTasks(
+            @Parameter(description = "Words to search, each matching as a prefix")
+            @RequestParam(SEARCH_PARAMETER) String query,
+            @Parameter(description = "Predicate based on query params")
+            @QuerydslPredicate(root = Task.class, bindings = TaskRepository.class) Predicate predicate,
+            @Parameter(description = "Opaque cursor from the " + NEXT_CURSOR_HEADER + " header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            @Parameter(hidden = true) @RequestParam MultiValueMap<String, String> parameters) {
+        final Set<String> filters = new HashSet<>(parameters.keySet());
+        filters.remove(SEARCH_PARAMETER);
+        rejectUnsupportedFilters(filters);
+        final TaskPage page = taskService.searchTasks(query, predicate, cursor, Math.min(size, MAX_PAGE_SIZE));
+        final var response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getTasks());
+    }
+
+
+    @Operation(summary = "Count filtered tasks by status, executor, author and label")
+    @ApiResponse(responseCode = "200", description = "Task counts grouped by id")
+    @GetMapping(STATS_PATH)
+    public TaskStats getTaskStats(
+            @Parameter(description = "Predicate based on query params")
+            @QuerydslPredicate(root = Task.class, bindings = TaskRepository.class) Predicate predicate,
+            @Parameter(hidden = true) @RequestParam MultiValueMap<String, String> parameters) {
+        rejectUnsupportedFilters(parameters.keySet());
+        return taskService.getTaskStats(predicate);
+    }
+
+
+    @Operation(summary = "Export all tasks")
+    @ApiResponse(responseCode = "200", description = "Tasks as newline delimited JSON, one task per line")
+    @GetMapping(EXPORT_PATH)
+    @AsyncTimeout("${task-export.timeout}")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(taskService::exportTasks);
     }
 
 
     @Operation(summary = "Get task by id")
     @ApiResponses(@ApiResponse(responseCode = "200"))
     @GetMapping(ID)
-    public Task getTaskById(@PathVariable long id) {
-        return taskRepository.findById(id).get();
+    public ResponseEntity<TaskView> getTaskById(@PathVariable long id, final WebRequest request) {
+        final TaskView task = taskService.getTaskById(id);
+        return ETags.conditionalGet(request, ETags.of(task.getId(), task.getVersion(), task.getReferencesVersion()),
+                () -> task);
     }
 
 
@@ -66,26 +159,66 @@ public class TaskController {
     @ApiResponse(responseCode = "201", description = "Task created")
     @PostMapping
     @ResponseStatus(CREATED)
-    public Task createNewTask(@RequestBody @Valid final TaskDto taskDto) {
+    public TaskView createNewTask(@RequestBody @Valid final TaskDto taskDto) {
         return taskService.createNewTask(taskDto);
     }
 
 
+    @Operation(summary = "Create tasks in batch")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All tasks created, ids reported per item"),
+        @ApiResponse(responseCode = "422", description = "Some tasks are invalid, errors reported per item, "
+                + "nothing created")
+    })
+    @PostMapping(BATCH_PATH)
+    public ResponseEntity<List<TaskBatchResult>> createNewTasks(@RequestBody final List<TaskDto> taskDtos) {
+        final List<TaskBatchResult> results = taskService.createNewTasks(taskDtos);
+        final boolean rejected = results.stream().anyMatch(TaskBatchResult::isRejected);
+        return ResponseEntity.status(rejected ? UNPROCESSABLE_ENTITY : CREATED).body(results);
+    }
+
+
     @Operation(summary = "Update task")
     @PutMapping(ID)
-    public Task updateTask(@RequestBody @Valid final TaskDto taskDto, @PathVariable long id) {
-        return taskService.updateTask(id, taskDto);
+    public TaskView updateTask(@RequestBody @Valid final TaskDto taskDto, @PathVariable long id,
+                               @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return taskService.updateTask(id, taskDto, ETags.expectedVersion(ifMatch, id));
+    }
+
+
+    @Operation(summary = "Update the task fields named in the mask")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Task updated"),
+        @ApiResponse(responseCode = "400", description = "Unknown or invalid fields in the mask"),
+        @ApiResponse(responseCode = "412", description = "Task changed since the If-Match version")
+    })
+    @PatchMapping(ID)
+    public TaskView patchTask(@RequestBody @Valid final TaskPatchDto patch, @PathVariable long id,
+                              @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return taskService.patchTask(id, patch, ETags.expectedVersion(ifMatch, id));
     }
 
 
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Task deleted"),
+        @ApiResponse(responseCode = "403", description = "Task belongs to another user"),
         @ApiResponse(responseCode = "404", description = "Task not found")
     })
     @Operation(summary = "Delete task")
-    @PreAuthorize(TASK_OWNER)
     @DeleteMapping(ID)
     public void deleteTaskById(@PathVariable final Long id) {
-        taskRepository.deleteById(id);
+        taskService.deleteTaskById(id);
+    }
+
+
+    private static void rejectUnsupportedFilters(final Set<String> parameters) {
+        final Set<String> unsupported = parameters.stream()
+                .filter(parameter -> !FILTER_PARAMETERS.contains(parameter))
+                .filter(parameter -> !PAGING_PARAMETERS.contains(parameter))
+                .collect(Collectors.toSet());
+        if (!unsupported.isEmpty()) {
+            throw new BadRequestException("Unsupported task filters " + unsupported
+                    + ", supported filters are " + FILTER_PARAMETERS);
+        }
     }
 }
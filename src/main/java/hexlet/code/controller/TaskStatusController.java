@@ -2,7 +2,6 @@ package hexlet.code.controller;
 
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
-import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.service.impl.TaskStatusServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +9,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,14 +17,17 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 
 import java.util.List;
 
 import static hexlet.code.controller.TaskStatusController.TASK_STATUS_CONTROLLER_PATH;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @AllArgsConstructor
@@ -32,7 +35,6 @@ import static org.springframework.http.HttpStatus.CREATED;
 @RequestMapping("${base-url}" + TASK_STATUS_CONTROLLER_PATH)
 public class TaskStatusController {
 
-    private final TaskStatusRepository taskStatusRepository;
     private final TaskStatusServiceImpl taskStatusService;
     public static final String TASK_STATUS_CONTROLLER_PATH = "/statuses";
     public static final String ID = "/{id}";
@@ -41,8 +43,9 @@ public class TaskStatusController {
     @ApiResponses(@ApiResponse(responseCode = "200"))
     @Operation(summary = "Get task status")
     @GetMapping(ID)
-    public TaskStatus getTaskStatusById(@PathVariable final Long id) {
-        return taskStatusRepository.findById(id).get();
+    public ResponseEntity<TaskStatus> getTaskStatusById(@PathVariable final Long id, final WebRequest request) {
+        final TaskStatus taskStatus = taskStatusService.getTaskStatusById(id);
+        return ETags.conditionalGet(request, ETags.of(taskStatus.getId(), taskStatus.getVersion()), () -> taskStatus);
     }
 
 
@@ -57,8 +60,9 @@ public class TaskStatusController {
 
     @Operation(summary = "Update task status")
     @PutMapping(ID)
-    public TaskStatus updateTaskStatus(@RequestBody @Valid final TaskStatusDto taskStatusDto, @PathVariable long id) {
-        return taskStatusService.updateTaskStatus(id, taskStatusDto);
+    public TaskStatus updateTaskStatus(@RequestBody @Valid final TaskStatusDto taskStatusDto, @PathVariable long id,
+                                       @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return taskStatusService.updateTaskStatus(id, taskStatusDto, ETags.expectedVersion(ifMatch, id));
     }
 
 
@@ -73,7 +77,8 @@ public class TaskStatusController {
     @ApiResponses(@ApiResponse(responseCode = "200", content = @Content(
             schema = @Schema(implementation = TaskStatus.class))))
     @GetMapping
-    public List<TaskStatus> getAll() {
-        return taskStatusRepository.findAll();
+    public ResponseEntity<List<TaskStatus>> getAll(final WebRequest request) {
+        return ETags.conditionalGet(request, ETags.of(taskStatusService.getTaskStatusesVersion()),
+                taskStatusService::getAllTaskStatuses);
     }
 }
@@ -2,7 +2,6 @@ package hexlet.code.controller;
 
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
-import hexlet.code.repository.UserRepository;
 import hexlet.code.service.impl.UserServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,6 +9,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,14 +17,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.util.List;
 
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
 import static org.springframework.http.HttpStatus.CREATED;
 
 @AllArgsConstructor
@@ -35,24 +38,23 @@ public class UserController {
     public static final String USER_CONTROLLER_PATH = "/users";
     public static final String ID = "/{id}";
     private final UserServiceImpl userService;
-    private final UserRepository userRepository;
-    private static final String ONLY_OWNER_BY_ID =
-            "@userRepository.findById(#id).get().getEmail() == authentication.getName()";
+    private static final String ONLY_OWNER_BY_ID = "@ownershipChecker.isCurrentUser(#id)";
 
 
     @ApiResponses(@ApiResponse(responseCode = "200"))
     @Operation(summary = "Get user")
     @GetMapping(ID)
-    public User getUserById(@PathVariable final Long id) {
-        return userRepository.findById(id).get();
+    public ResponseEntity<User> getUserById(@PathVariable final Long id, final WebRequest request) {
+        final User user = userService.getUserById(id);
+        return ETags.conditionalGet(request, ETags.of(user.getId(), user.getVersion()), () -> user);
     }
 
 
     @Operation(summary = "Get all users")
     @ApiResponses(@ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = User.class))))
     @GetMapping
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public ResponseEntity<List<User>> getAllUsers(final WebRequest request) {
+        return ETags.conditionalGet(request, ETags.of(userService.getUsersVersion()), userService::getAllUsers);
     }
 
 
@@ -68,8 +70,9 @@ public class UserController {
     @Operation(summary = "Update user")
     @PreAuthorize(ONLY_OWNER_BY_ID)
     @PutMapping(ID)
-    public User updateUser(@RequestBody @Valid final UserDto dto, @PathVariable long id) {
-        return userService.updateUser(id, dto);
+    public User updateUser(@RequestBody @Valid final UserDto dto, @PathVariable long id,
+                           @RequestHeader(value = IF_MATCH, required = false) final String ifMatch) {
+        return userService.updateUser(id, dto, ETags.expectedVersion(ifMatch, id));
     }
 
 
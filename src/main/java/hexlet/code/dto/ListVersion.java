@@ -0,0 +1,15 @@
+package hexlet.code.dto;
+
+import lombok.Value;
+
+/**
+ * Aggregate of the rows behind a list: any write between two reads changes at least one of the values,
+ * so it stands for the version of the whole list without reading it.
+ */
+@Value
+public class ListVersion {
+
+    Long count;
+    Long maxId;
+    Long versionSum;
+}
@@ -0,0 +1,29 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResult {
+
+    private int index;
+
+    private Long id;
+
+    private List<String> errors;
+
+    public static TaskBatchResult created(final int index, final Long id) {
+        return new TaskBatchResult(index, id, List.of());
+    }
+
+    @JsonIgnore
+    public boolean isRejected() {
+        return !errors.isEmpty();
+    }
+}
@@ -0,0 +1,49 @@
+package hexlet.code.dto;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.model.QTask;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+@Getter
+@AllArgsConstructor
+public final class TaskCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final long createdAt;
+    private final long id;
+
+    public static TaskCursor of(final TaskView task) {
+        return new TaskCursor(task.getCreatedAt().getTime(), task.getId());
+    }
+
+    public static TaskCursor decode(final String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = value.indexOf(SEPARATOR);
+            return new TaskCursor(
+                    Long.parseLong(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        final String value = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Predicate after(final QTask task) {
+        final Date date = new Date(createdAt);
+        return task.createdAt.gt(date)
+                .or(task.createdAt.eq(date).and(task.id.gt(id)));
+    }
+}
@@ -0,0 +1,38 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.Set;
+
+/**
+ * Partial update of a task: only the properties named in {@code fields} are applied, the others are ignored
+ * even when present, so a property can be cleared by naming it and leaving it null.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskPatchDto {
+
+    public static final String NAME = "name";
+    public static final String DESCRIPTION = "description";
+    public static final String TASK_STATUS_ID = "taskStatusId";
+    public static final String LABEL_IDS = "labelIds";
+    public static final String EXECUTOR_ID = "executorId";
+    public static final Set<String> FIELDS = Set.of(NAME, DESCRIPTION, TASK_STATUS_ID, LABEL_IDS, EXECUTOR_ID);
+
+    @NotEmpty
+    private Set<String> fields;
+
+    private String name;
+
+    private String description;
+
+    private Long taskStatusId;
+
+    private Set<Long> labelIds;
+
+    private Long executorId;
+}
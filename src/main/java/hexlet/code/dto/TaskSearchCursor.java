@@ -0,0 +1,47 @@
+package hexlet.code.dto;
+
+import hexlet.code.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in search results, which are ordered by rank, best first, then by id.
+ */
+@Getter
+@AllArgsConstructor
+public final class TaskSearchCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final float rank;
+    private final long id;
+
+    public static TaskSearchCursor of(final TaskSearchHit hit) {
+        return new TaskSearchCursor(hit.getRank(), hit.getId());
+    }
+
+    public static TaskSearchCursor decode(final String cursor) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final int separator = value.indexOf(SEPARATOR);
+            return new TaskSearchCursor(
+                    Float.parseFloat(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode() {
+        final String value = rank + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isBefore(final TaskSearchHit hit) {
+        return hit.getRank() < rank || (hit.getRank() == rank && hit.getId() > id);
+    }
+}
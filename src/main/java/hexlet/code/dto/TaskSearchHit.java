@@ -0,0 +1,10 @@
+package hexlet.code.dto;
+
+import lombok.Value;
+
+@Value
+public class TaskSearchHit {
+
+    Long id;
+    float rank;
+}
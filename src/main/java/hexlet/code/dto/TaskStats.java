@@ -0,0 +1,39 @@
+package hexlet.code.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Task counts grouped by status, executor, author and label. Groups are keyed by id only, the names come from
+ * the cached catalog endpoints. Tasks without executor are counted under a null id, tasks with several labels
+ * are counted once per label.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStats {
+
+    private long total;
+
+    private List<Count> taskStatus;
+
+    private List<Count> executor;
+
+    private List<Count> author;
+
+    private List<Count> labels;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Count {
+
+        private Long id;
+
+        private Long count;
+    }
+}
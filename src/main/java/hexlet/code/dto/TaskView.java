@@ -0,0 +1,47 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Value;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Read model of a task, keeping the JSON shape of {@link hexlet.code.model.Task}
+ * but with only the columns the client shows. Related rows are embedded as id and display name;
+ * {@code referencesVersion} sums their versions for the entity tag and is not serialized.
+ */
+@Value
+@JsonSerialize(using = TaskViewSerializer.class)
+public class TaskView {
+
+    Long id;
+    String name;
+    String description;
+    Date createdAt;
+    long version;
+    Status taskStatus;
+    Person author;
+    Person executor;
+    List<LabelRef> labels;
+    long referencesVersion;
+
+    @Value
+    public static class Status {
+        Long id;
+        String name;
+    }
+
+    @Value
+    public static class Person {
+        Long id;
+        String firstName;
+        String lastName;
+    }
+
+    @Value
+    public static class LabelRef {
+        Long id;
+        String name;
+    }
+}
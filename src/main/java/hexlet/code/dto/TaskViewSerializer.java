@@ -0,0 +1,108 @@
+package hexlet.code.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link TaskView} field by field with field names encoded once, instead of the bean serializer
+ * introspecting the view and its nested references. The JSON is the same as the bean serializer's,
+ * with {@code createdAt} formatted as configured on the mapper.
+ */
+public final class TaskViewSerializer extends StdSerializer<TaskView> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+    private static final SerializableString TASK_STATUS = new SerializedString("taskStatus");
+    private static final SerializableString AUTHOR = new SerializedString("author");
+    private static final SerializableString EXECUTOR = new SerializedString("executor");
+    private static final SerializableString LABELS = new SerializedString("labels");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+
+    public TaskViewSerializer() {
+        super(TaskView.class);
+    }
+
+    @Override
+    public void serialize(final TaskView task, final JsonGenerator gen, final SerializerProvider provider)
+            throws IOException {
+        gen.writeStartObject(task);
+        writeNumber(gen, ID, task.getId());
+        writeString(gen, NAME, task.getName());
+        writeString(gen, DESCRIPTION, task.getDescription());
+        gen.writeFieldName(CREATED_AT);
+        if (task.getCreatedAt() == null) {
+            gen.writeNull();
+        } else {
+            provider.defaultSerializeDateValue(task.getCreatedAt(), gen);
+        }
+        gen.writeFieldName(VERSION);
+        gen.writeNumber(task.getVersion());
+
+        gen.writeFieldName(TASK_STATUS);
+        if (task.getTaskStatus() == null) {
+            gen.writeNull();
+        } else {
+            writeRef(gen, task.getTaskStatus().getId(), task.getTaskStatus().getName());
+        }
+        gen.writeFieldName(AUTHOR);
+        writePerson(gen, task.getAuthor());
+        gen.writeFieldName(EXECUTOR);
+        writePerson(gen, task.getExecutor());
+
+        gen.writeFieldName(LABELS);
+        if (task.getLabels() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray();
+            for (TaskView.LabelRef label : task.getLabels()) {
+                writeRef(gen, label.getId(), label.getName());
+            }
+            gen.writeEndArray();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeRef(final JsonGenerator gen, final Long id, final String name) throws IOException {
+        gen.writeStartObject();
+        writeNumber(gen, ID, id);
+        writeString(gen, NAME, name);
+        gen.writeEndObject();
+    }
+
+    private static void writePerson(final JsonGenerator gen, final TaskView.Person person) throws IOException {
+        if (person == null) {
+            gen.writeNull();
+            return;
+        }
+        gen.writeStartObject();
+        writeNumber(gen, ID, person.getId());
+        writeString(gen, FIRST_NAME, person.getFirstName());
+        writeString(gen, LAST_NAME, person.getLastName());
+        gen.writeEndObject();
+    }
+
+    private static void writeNumber(final JsonGenerator gen, final SerializableString field, final Long value)
+            throws IOException {
+        gen.writeFieldName(field);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    private static void writeString(final JsonGenerator gen, final SerializableString field, final String value)
+            throws IOException {
+        gen.writeFieldName(field);
+        gen.writeString(value);
+    }
+}
@@ -0,0 +1,40 @@
+package hexlet.code.event;
+
+import lombok.Value;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published by the services when entities are written. Listeners that need the committed state
+ * should use {@link org.springframework.transaction.event.TransactionalEventListener}.
+ */
+@Value
+public class EntityChangedEvent {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    Class<?> entityType;
+    Change change;
+    Collection<Long> ids;
+
+    public static EntityChangedEvent of(final Class<?> entityType, final Change change, final Long id) {
+        return new EntityChangedEvent(entityType, change, List.of(id));
+    }
+
+    public boolean isAbout(final Class<?> type) {
+        return entityType == type;
+    }
+
+    /**
+     * Name of the entity type as clients see it, such as {@code task} or {@code taskStatus}.
+     */
+    public String getTypeName() {
+        return StringUtils.uncapitalize(entityType.getSimpleName());
+    }
+}
@@ -0,0 +1,12 @@
+package hexlet.code.exception;
+
+/**
+ * Request parameters or body the API cannot act on, such as a malformed cursor or an unknown PATCH field.
+ * Answered with 400; an {@link IllegalArgumentException} from the application or a library stays a 500.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(final String message) {
+        super(message);
+    }
+}
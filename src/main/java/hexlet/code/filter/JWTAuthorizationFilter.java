@@ -1,6 +1,7 @@
 package hexlet.code.filter;
 
 import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.UserPrincipal;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.util.matcher.RequestMatcher;
@@ -11,9 +12,13 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Optional;
+import java.util.Map;
+import java.util.NoSuchElementException;
 
+import static hexlet.code.component.JWTHelper.CHANGES_SCOPE;
+import static hexlet.code.component.JWTHelper.SCOPE;
 import static hexlet.code.config.security.SecurityConfig.DEFAULT_AUTHORITIES;
+import static hexlet.code.controller.ChangeFeedController.ACCESS_TOKEN;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
 
@@ -21,11 +26,14 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
 
     private static final String BEARER = "Bearer";
     private final RequestMatcher publicUrls;
+    private final RequestMatcher changesUrls;
     private final JWTHelper jwtHelper;
 
     public JWTAuthorizationFilter(final RequestMatcher publicUrls,
+                                  final RequestMatcher changesUrls,
                                   final JWTHelper jwtHelper) {
         this.publicUrls = publicUrls;
+        this.changesUrls = changesUrls;
         this.jwtHelper = jwtHelper;
     }
 
@@ -39,22 +47,48 @@ public class JWTAuthorizationFilter extends OncePerRequestFilter {
                                     final HttpServletResponse response,
                                     final FilterChain filterChain) throws ServletException, IOException {
 
-        final var authToken = Optional.ofNullable(request.getHeader(AUTHORIZATION))
-                .map(header -> header.replaceFirst("^" + BEARER, ""))
-                .map(String::trim)
-                .map(jwtHelper::verify)
-                .map(claims -> claims.get(SPRING_SECURITY_FORM_USERNAME_KEY))
-                .map(Object::toString)
-                .map(this::buildAuthToken)
-                .orElseThrow();
+        final boolean changes = changesUrls.matches(request);
+        final String headerToken = extractToken(request.getHeader(AUTHORIZATION));
+        final boolean fromParameter = headerToken.isEmpty() && changes && request.getParameter(ACCESS_TOKEN) != null;
+        final String token = fromParameter ? request.getParameter(ACCESS_TOKEN) : headerToken;
+        if (token.isEmpty()) {
+            throw new NoSuchElementException("Authorization token is missing");
+        }
+        final Map<String, Object> claims = jwtHelper.verify(token);
+        if (claims.get(SPRING_SECURITY_FORM_USERNAME_KEY) == null) {
+            throw new NoSuchElementException("Authorization token has no username");
+        }
 
-        SecurityContextHolder.getContext().setAuthentication(authToken);
+        final boolean changesToken = CHANGES_SCOPE.equals(claims.get(SCOPE));
+        if (isAccepted(changes, fromParameter, changesToken)) {
+            SecurityContextHolder.getContext().setAuthentication(buildAuthToken(UserPrincipal.fromClaims(claims)));
+        }
         filterChain.doFilter(request, response);
     }
 
-    private UsernamePasswordAuthenticationToken buildAuthToken(final String username) {
+    /**
+     * Tokens in the URL are accepted only for the change stream and only when issued for it, as URLs end up
+     * in logs. Such tokens open nothing else; a request they do not authenticate is answered with 403.
+     */
+    private static boolean isAccepted(final boolean changes, final boolean fromParameter, final boolean changesToken) {
+        return fromParameter ? changesToken : !changesToken || changes;
+    }
+
+    /**
+     * Strips an optional "Bearer" prefix and surrounding whitespace without regular expressions;
+     * a bare token is returned as is.
+     */
+    private static String extractToken(final String header) {
+        if (header == null) {
+            return "";
+        }
+        final int start = header.startsWith(BEARER) ? BEARER.length() : 0;
+        return header.substring(start).trim();
+    }
+
+    private UsernamePasswordAuthenticationToken buildAuthToken(final UserPrincipal principal) {
         return new UsernamePasswordAuthenticationToken(
-                username,
+                principal,
                 null,
                 DEFAULT_AUTHORITIES
         );
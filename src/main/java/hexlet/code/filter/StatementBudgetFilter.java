@@ -0,0 +1,45 @@
+package hexlet.code.filter;
+
+import hexlet.code.component.SqlStatementCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter counter;
+    private final int maxStatements;
+    private final boolean failOnExceed;
+
+    public StatementBudgetFilter(final SqlStatementCounter counter,
+                                 final int maxStatements,
+                                 final boolean failOnExceed) {
+        this.counter = counter;
+        this.maxStatements = maxStatements;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        counter.reset();
+        filterChain.doFilter(request, response);
+
+        final int count = counter.getCount();
+        if (count > maxStatements) {
+            final String message = String.format("%s %s executed %d SQL statements, budget is %d",
+                    request.getMethod(), request.getRequestURI(), count, maxStatements);
+            if (failOnExceed) {
+                throw new IllegalStateException(message);
+            }
+            log.warn(message);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package hexlet.code.model;
+
+import hexlet.code.event.EntityChangedEvent;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Temporal;
+import java.util.Date;
+
+import static javax.persistence.GenerationType.SEQUENCE;
+import static javax.persistence.TemporalType.TIMESTAMP;
+
+/**
+ * A change written in the transaction that made it, waiting for the dispatcher to deliver it.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox")
+@NoArgsConstructor
+public class OutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = SEQUENCE, generator = "outbox_seq")
+    @SequenceGenerator(name = "outbox_seq", sequenceName = "outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false)
+    private EntityChangedEvent.Change change;
+
+    @CreationTimestamp
+    @Temporal(TIMESTAMP)
+    @Column(nullable = false)
+    private Date createdAt;
+
+    @Temporal(TIMESTAMP)
+    private Date deliveredAt;
+
+    public OutboxMessage(final String entityType, final Long entityId, final EntityChangedEvent.Change change) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.change = change;
+    }
+}
@@ -5,35 +5,62 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
+import org.springframework.format.annotation.DateTimeFormat;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 import java.util.Date;
 import java.util.Set;
 
-import static javax.persistence.GenerationType.IDENTITY;
+import static javax.persistence.GenerationType.SEQUENCE;
 import static javax.persistence.TemporalType.TIMESTAMP;
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE;
 
 @Getter
 @Setter
 @Entity
+@DynamicUpdate
 @Table(name = "tasks")
+@NamedEntityGraphs({
+    @NamedEntityGraph(name = Task.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("taskStatus"),
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("executor")
+    }),
+    @NamedEntityGraph(name = Task.DETAILS_GRAPH, attributeNodes = {
+        @NamedAttributeNode("taskStatus"),
+        @NamedAttributeNode("author"),
+        @NamedAttributeNode("executor"),
+        @NamedAttributeNode("labels")
+    })
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
 
+    public static final String LIST_GRAPH = "Task.list";
+    public static final String DETAILS_GRAPH = "Task.details";
+
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -57,9 +84,14 @@ public class Task {
 
     @CreationTimestamp
     @Temporal(TIMESTAMP)
+    @DateTimeFormat(iso = DATE)
     private Date createdAt;
 
+    @Version
+    private long version;
+
     @ManyToMany
+    @BatchSize(size = 100)
     @JoinColumn(name = "labels_id")
     private Set<Label> labels;
 }
@@ -9,12 +9,14 @@ import org.hibernate.annotations.CreationTimestamp;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import javax.persistence.Temporal;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 import java.util.Date;
 
-import static javax.persistence.GenerationType.IDENTITY;
+import static javax.persistence.GenerationType.SEQUENCE;
 import static javax.persistence.TemporalType.TIMESTAMP;
 
 @Getter
@@ -26,7 +28,8 @@ import static javax.persistence.TemporalType.TIMESTAMP;
 public class TaskStatus {
 
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "statuses_seq")
+    @SequenceGenerator(name = "statuses_seq", sequenceName = "statuses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -36,6 +39,9 @@ public class TaskStatus {
     @Temporal(TIMESTAMP)
     private Date createdAt;
 
+    @Version
+    private long version;
+
     public TaskStatus(final Long id) {
         this.id = id;
     }
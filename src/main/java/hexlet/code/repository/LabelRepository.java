@@ -1,9 +1,86 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.ListVersion;
 import hexlet.code.model.Label;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import static hexlet.code.config.cache.CacheConfig.ALL_KEY;
+import static hexlet.code.config.cache.CacheConfig.LABELS;
+import static hexlet.code.config.cache.CacheConfig.VERSION_KEY;
+
 @Repository
 public interface LabelRepository extends JpaRepository<Label, Long> {
+
+    @Override
+    @Cacheable(cacheNames = LABELS, key = "#p0", unless = "#result == null")
+    Optional<Label> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = LABELS, key = ALL_KEY)
+    List<Label> findAll();
+
+    @Cacheable(cacheNames = LABELS, key = VERSION_KEY)
+    @Query("select new hexlet.code.dto.ListVersion(count(l), max(l.id), sum(l.version)) from Label l")
+    ListVersion findListVersion();
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    <S extends Label> S save(S label);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    <S extends Label> S saveAndFlush(S label);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    <S extends Label> List<S> saveAll(Iterable<S> labels);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    <S extends Label> List<S> saveAllAndFlush(Iterable<S> labels);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void deleteAllById(Iterable<? extends Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void delete(Label label);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void deleteAll(Iterable<? extends Label> labels);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void deleteAllInBatch();
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    void deleteAllInBatch(Iterable<Label> labels);
+
+    @Override
+    @CacheEvict(cacheNames = LABELS, allEntries = true)
+    default void deleteInBatch(Iterable<Label> labels) {
+        deleteAllInBatch(labels);
+    }
 }
@@ -0,0 +1,46 @@
+package hexlet.code.repository;
+
+import hexlet.code.model.OutboxMessage;
+import org.hibernate.LockOptions;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Locks the oldest undelivered messages until the end of the transaction. The lock timeout hint makes Hibernate
+     * render {@code FOR UPDATE SKIP LOCKED} where the dialect supports it, so concurrent dispatchers claim
+     * different messages instead of waiting for each other; other databases fall back to {@code FOR UPDATE}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "" + LockOptions.SKIP_LOCKED))
+    @Query("select m from OutboxMessage m where m.deliveredAt is null order by m.id")
+    List<OutboxMessage> claimUndelivered(Pageable pageable);
+
+    Optional<OutboxMessage> findFirstByDeliveredAtIsNullOrderByIdAsc();
+
+    @Query("select m.id from OutboxMessage m where m.deliveredAt < :cutoff order by m.deliveredAt")
+    List<Long> findDeliveredBefore(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxMessage m set m.deliveredAt = :deliveredAt where m.id in :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveredAt") Date deliveredAt);
+
+    @Modifying
+    @Query("delete from OutboxMessage m where m.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,11 +1,102 @@
 package hexlet.code.repository;
 
 
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import hexlet.code.exception.BadRequestException;
+import hexlet.code.model.QTask;
+import hexlet.code.dto.TaskStats;
 import hexlet.code.model.Task;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
+import org.springframework.data.querydsl.binding.QuerydslBindings;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+
+import static hexlet.code.config.cache.CacheConfig.ALL_KEY;
+import static hexlet.code.config.cache.CacheConfig.TASK_STATS;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task> {
+public interface TaskRepository extends JpaRepository<Task, Long>, QuerydslPredicateExecutor<Task>,
+        QuerydslBinderCustomizer<QTask>, TaskRepositoryCustom {
+
+    /**
+     * Query parameters that map to an indexed column of the tasks table.
+     */
+    Set<String> FILTER_PARAMETERS = Set.of("taskStatus", "executorId", "authorId", "labels", "createdAt");
+
+    @Override
+    @EntityGraph(Task.DETAILS_GRAPH)
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(Task.LIST_GRAPH)
+    Iterable<Task> findAll(Predicate predicate);
+
+    @Query("select t.author.id from Task t where t.id = :id")
+    Optional<Long> findAuthorIdById(@Param("id") Long id);
+
+    /**
+     * Deletes the task only when it belongs to the author, in a single statement. Its label links go with it
+     * through the cascading foreign key.
+     */
+    @Modifying
+    @Query(value = "delete from tasks where id = :id and author_id = :authorId", nativeQuery = true)
+    int deleteByIdAndAuthorId(@Param("id") Long id, @Param("authorId") Long authorId);
+
+    /**
+     * Unfiltered counts are cached for the dashboards, the task writes of the service evict them.
+     */
+    @Override
+    @Cacheable(cacheNames = TASK_STATS, key = ALL_KEY, condition = "#p0 == null")
+    TaskStats findStats(Predicate predicate);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATS, allEntries = true)
+    void deleteAll();
+
+    @Override
+    default void customize(final QuerydslBindings bindings, final QTask task) {
+        bindings.excludeUnlistedProperties(true);
+        bindings.bind(task.taskStatus.id).as("taskStatus").all(TaskRepository::in);
+        bindings.bind(task.executor.id).as("executorId").all(TaskRepository::in);
+        bindings.bind(task.author.id).as("authorId").all(TaskRepository::in);
+        bindings.bind(task.labels.any().id).as("labels").all(TaskRepository::in);
+        bindings.bind(task.createdAt).all(TaskRepository::createdWithin);
+        bindings.including(task.createdAt);
+    }
+
+    private static Optional<Predicate> in(final NumberPath<Long> path, final Collection<? extends Long> ids) {
+        return ids.isEmpty() ? Optional.empty() : Optional.of(path.in(ids));
+    }
+
+    /**
+     * Binds {@code createdAt=from} to {@code created_at >= from}
+     * and {@code createdAt=from&createdAt=to} to {@code from <= created_at < to}.
+     */
+    private static Optional<Predicate> createdWithin(final DateTimePath<Date> path,
+                                                     final Collection<? extends Date> dates) {
+        if (dates.isEmpty()) {
+            return Optional.empty();
+        }
+        if (dates.size() > 2) {
+            throw new BadRequestException("createdAt accepts a lower and an optional upper bound");
+        }
+        final Iterator<? extends Date> iterator = dates.iterator();
+        final Date from = iterator.next();
+        return Optional.of(iterator.hasNext() ? path.goe(from).and(path.lt(iterator.next())) : path.goe(from));
+    }
 }
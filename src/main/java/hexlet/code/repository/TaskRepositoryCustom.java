@@ -0,0 +1,17 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.ListVersion;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskView;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    List<TaskView> findViews(Predicate predicate, int limit);
+
+    ListVersion findListVersion(Predicate predicate);
+
+    TaskStats findStats(Predicate predicate);
+}
@@ -0,0 +1,36 @@
+package hexlet.code.repository;
+
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.TaskSearchCursor;
+import hexlet.code.dto.TaskSearchHit;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text index over task names and descriptions. A task matches when each term is a prefix of one of its words.
+ */
+public interface TaskSearchIndex {
+
+    String ENGINE_PROPERTY = "task-search.engine";
+
+    /**
+     * Returns at most {@code limit} hits that match all terms and the predicate, ordered by rank, best first,
+     * then by id, starting after the cursor when it is given.
+     */
+    List<TaskSearchHit> search(List<String> terms, Predicate predicate, TaskSearchCursor after, int limit);
+
+    /**
+     * Splits a text into lower case words of letters and digits, the same way for indexed texts and queries.
+     */
+    static List<String> tokenize(final String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
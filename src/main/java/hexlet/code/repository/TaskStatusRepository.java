@@ -1,12 +1,85 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.ListVersion;
 import hexlet.code.model.TaskStatus;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import static hexlet.code.config.cache.CacheConfig.ALL_KEY;
+import static hexlet.code.config.cache.CacheConfig.TASK_STATUSES;
+import static hexlet.code.config.cache.CacheConfig.VERSION_KEY;
+
 @Repository
 public interface TaskStatusRepository extends JpaRepository<TaskStatus, Long> {
 
+    @Override
+    @Cacheable(cacheNames = TASK_STATUSES, key = "#p0", unless = "#result == null")
     Optional<TaskStatus> findById(Long id);
+
+    @Override
+    @Cacheable(cacheNames = TASK_STATUSES, key = ALL_KEY)
+    List<TaskStatus> findAll();
+
+    @Cacheable(cacheNames = TASK_STATUSES, key = VERSION_KEY)
+    @Query("select new hexlet.code.dto.ListVersion(count(s), max(s.id), sum(s.version)) from TaskStatus s")
+    ListVersion findListVersion();
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    <S extends TaskStatus> S save(S taskStatus);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    <S extends TaskStatus> S saveAndFlush(S taskStatus);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    <S extends TaskStatus> List<S> saveAll(Iterable<S> taskStatuses);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    <S extends TaskStatus> List<S> saveAllAndFlush(Iterable<S> taskStatuses);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void deleteById(Long id);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void deleteAllById(Iterable<? extends Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void deleteAllByIdInBatch(Iterable<Long> ids);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void delete(TaskStatus taskStatus);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void deleteAll();
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void deleteAll(Iterable<? extends TaskStatus> taskStatuses);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void deleteAllInBatch();
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    void deleteAllInBatch(Iterable<TaskStatus> taskStatuses);
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATUSES, allEntries = true)
+    default void deleteInBatch(Iterable<TaskStatus> taskStatuses) {
+        deleteAllInBatch(taskStatuses);
+    }
 }
@@ -1,12 +1,17 @@
 package hexlet.code.repository;
 
+import hexlet.code.dto.ListVersion;
 import hexlet.code.model.User;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
+
+    @Query("select new hexlet.code.dto.ListVersion(count(u), max(u.id), sum(u.version)) from User u")
+    ListVersion findListVersion();
 }
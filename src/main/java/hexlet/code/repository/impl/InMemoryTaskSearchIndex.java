@@ -0,0 +1,159 @@
+package hexlet.code.repository.impl;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.dto.TaskSearchCursor;
+import hexlet.code.dto.TaskSearchHit;
+import hexlet.code.event.EntityChangedEvent;
+import hexlet.code.model.QTask;
+import hexlet.code.model.Task;
+import hexlet.code.repository.TaskSearchIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.transaction.annotation.Propagation.REQUIRES_NEW;
+
+/**
+ * Inverted index kept in memory, for databases without full-text search such as H2 in development and tests.
+ * It is loaded once on startup and then updated from {@link EntityChangedEvent}s after each commit.
+ * The rank of a task is the number of its words matching a term, as {@code ts_rank} without normalization.
+ * Hits are checked against the database in chunks, which applies the predicate and skips deleted tasks.
+ */
+@Repository
+@ConditionalOnProperty(name = TaskSearchIndex.ENGINE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+public class InMemoryTaskSearchIndex implements TaskSearchIndex {
+
+    private static final QTask TASK = QTask.task;
+    private static final int CHUNK_SIZE = 500;
+    private static final Comparator<TaskSearchHit> BEST_FIRST = Comparator.comparing(TaskSearchHit::getRank)
+            .reversed()
+            .thenComparing(TaskSearchHit::getId);
+
+    private final ConcurrentNavigableMap<String, Map<Long, Integer>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSearchHit> search(final List<String> terms, final Predicate predicate,
+                                      final TaskSearchCursor after, final int limit) {
+        final List<TaskSearchHit> candidates = rank(terms).entrySet().stream()
+                .map(score -> new TaskSearchHit(score.getKey(), score.getValue()))
+                .filter(hit -> after == null || after.isBefore(hit))
+                .sorted(BEST_FIRST)
+                .collect(Collectors.toList());
+        final List<TaskSearchHit> hits = new ArrayList<>(limit);
+        for (int from = 0; from < candidates.size(); from += CHUNK_SIZE) {
+            final List<TaskSearchHit> chunk = candidates.subList(from, Math.min(from + CHUNK_SIZE, candidates.size()));
+            final List<Long> ids = chunk.stream().map(TaskSearchHit::getId).collect(Collectors.toList());
+            final Set<Long> matching = new HashSet<>(new JPAQueryFactory(entityManager)
+                    .select(TASK.id)
+                    .from(TASK)
+                    .where(predicate, TASK.id.in(ids))
+                    .fetch());
+            for (TaskSearchHit hit : chunk) {
+                if (matching.contains(hit.getId())) {
+                    hits.add(hit);
+                    if (hits.size() == limit) {
+                        return hits;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        try (Stream<Tuple> rows = new JPAQueryFactory(entityManager)
+                .select(TASK.id, TASK.name, TASK.description)
+                .from(TASK)
+                .stream()) {
+            rows.forEach(this::index);
+        }
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = REQUIRES_NEW, readOnly = true)
+    public void onEntityChanged(final EntityChangedEvent event) {
+        if (!event.isAbout(Task.class)) {
+            return;
+        }
+        if (event.getChange() == EntityChangedEvent.Change.DELETED) {
+            event.getIds().forEach(this::remove);
+            return;
+        }
+        final List<Long> ids = List.copyOf(event.getIds());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            new JPAQueryFactory(entityManager)
+                    .select(TASK.id, TASK.name, TASK.description)
+                    .from(TASK)
+                    .where(TASK.id.in(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))))
+                    .fetch()
+                    .forEach(this::index);
+        }
+    }
+
+    /**
+     * Sums, per task, the occurrences of the words starting with each term, keeping the tasks that match all terms.
+     */
+    private Map<Long, Float> rank(final Collection<String> terms) {
+        Map<Long, Float> scores = null;
+        for (String term : terms) {
+            final Map<Long, Float> termScores = new HashMap<>();
+            postings.subMap(term, term + Character.MAX_VALUE).values().forEach(posting ->
+                    posting.forEach((id, count) -> termScores.merge(id, (float) count, Float::sum)));
+            if (scores != null) {
+                termScores.keySet().retainAll(scores.keySet());
+                scores.forEach((id, score) -> termScores.computeIfPresent(id, (key, termScore) -> termScore + score));
+            }
+            scores = termScores;
+        }
+        return scores == null ? Map.of() : scores;
+    }
+
+    private synchronized void index(final Tuple row) {
+        final Long id = row.get(TASK.id);
+        remove(id);
+        final Map<String, Integer> words = Stream.concat(
+                        TaskSearchIndex.tokenize(row.get(TASK.name)).stream(),
+                        TaskSearchIndex.tokenize(row.get(TASK.description)).stream())
+                .collect(Collectors.toMap(word -> word, word -> 1, Integer::sum));
+        words.forEach((word, count) -> postings.computeIfAbsent(word, key -> new ConcurrentHashMap<>()).put(id, count));
+        documents.put(id, words);
+    }
+
+    private synchronized void remove(final Long id) {
+        final Map<String, Integer> words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        words.keySet().forEach(word -> postings.computeIfPresent(word, (key, posting) -> {
+            posting.remove(id);
+            return posting.isEmpty() ? null : posting;
+        }));
+    }
+}
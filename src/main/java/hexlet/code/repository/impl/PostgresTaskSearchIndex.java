@@ -0,0 +1,60 @@
+package hexlet.code.repository.impl;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.dto.TaskSearchCursor;
+import hexlet.code.dto.TaskSearchHit;
+import hexlet.code.model.QTask;
+import hexlet.code.repository.TaskSearchIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Searches through the GIN index on the tasks text, so matching, ranking and filtering happen in one query.
+ */
+@Repository
+@ConditionalOnProperty(name = TaskSearchIndex.ENGINE_PROPERTY, havingValue = "postgres")
+public class PostgresTaskSearchIndex implements TaskSearchIndex {
+
+    private static final QTask TASK = QTask.task;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskSearchHit> search(final List<String> terms, final Predicate predicate,
+                                      final TaskSearchCursor after, final int limit) {
+        final Expression<String> query = Expressions.constant(terms.stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & ")));
+        final BooleanExpression matches = Expressions.booleanTemplate("fts_match({0}, {1}, {2}) = true",
+                TASK.name, TASK.description, query);
+        final NumberExpression<Float> rank = Expressions.numberTemplate(Float.class, "fts_rank({0}, {1}, {2})",
+                TASK.name, TASK.description, query);
+        final BooleanBuilder where = new BooleanBuilder(matches).and(predicate);
+        if (after != null) {
+            where.and(rank.lt(after.getRank())
+                    .or(rank.eq(after.getRank()).and(TASK.id.gt(after.getId()))));
+        }
+        return new JPAQueryFactory(entityManager)
+                .select(TASK.id, rank)
+                .from(TASK)
+                .where(where)
+                .orderBy(rank.desc(), TASK.id.asc())
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(row -> new TaskSearchHit(row.get(TASK.id), row.get(rank)))
+                .collect(Collectors.toList());
+    }
+}
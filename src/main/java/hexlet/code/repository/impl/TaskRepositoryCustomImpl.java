@@ -0,0 +1,172 @@
+package hexlet.code.repository.impl;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import hexlet.code.dto.ListVersion;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskView;
+import hexlet.code.model.QLabel;
+import hexlet.code.model.QTask;
+import hexlet.code.model.QTaskStatus;
+import hexlet.code.model.QUser;
+import hexlet.code.repository.TaskRepositoryCustom;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reads tasks as {@link TaskView} projections, so no entities are hydrated or tracked by the persistence context.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    private static final QTask TASK = QTask.task;
+    private static final QTaskStatus STATUS = new QTaskStatus("status");
+    private static final QUser AUTHOR = new QUser("author");
+    private static final QUser EXECUTOR = new QUser("executor");
+    private static final QLabel LABEL = QLabel.label;
+    private static final QTask LABELLED_TASK = new QTask("labelledTask");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findViews(final Predicate predicate, final int limit) {
+        final JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
+        final List<Tuple> rows = queryFactory
+                .select(TASK.id, TASK.name, TASK.description, TASK.createdAt, TASK.version,
+                        STATUS.id, STATUS.name, STATUS.version,
+                        AUTHOR.id, AUTHOR.firstName, AUTHOR.lastName, AUTHOR.version,
+                        EXECUTOR.id, EXECUTOR.firstName, EXECUTOR.lastName, EXECUTOR.version)
+                .from(TASK)
+                .join(TASK.taskStatus, STATUS)
+                .join(TASK.author, AUTHOR)
+                .leftJoin(TASK.executor, EXECUTOR)
+                .where(predicate)
+                .orderBy(TASK.createdAt.asc(), TASK.id.asc())
+                .limit(limit)
+                .fetch();
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        final Map<Long, List<Tuple>> labels = findLabels(queryFactory, rows.stream()
+                .map(row -> row.get(TASK.id))
+                .collect(toList()));
+        return rows.stream()
+                .map(row -> toView(row, labels.getOrDefault(row.get(TASK.id), List.of())))
+                .collect(toList());
+    }
+
+    /**
+     * Sums the versions of the tasks together with those of the statuses, users and labels they show, so renaming
+     * any of them changes the tag of the lists it appears in. The label versions come from a correlated subquery,
+     * as joining the labels would repeat each task once per label.
+     */
+    @Override
+    public ListVersion findListVersion(final Predicate predicate) {
+        final Expression<Long> labelsVersion = JPAExpressions
+                .select(LABEL.version.sum())
+                .from(LABELLED_TASK)
+                .join(LABELLED_TASK.labels, LABEL)
+                .where(LABELLED_TASK.id.eq(TASK.id));
+        final Tuple row = new JPAQueryFactory(entityManager)
+                .select(TASK.count(), TASK.id.max(), TASK.version
+                        .add(STATUS.version)
+                        .add(AUTHOR.version)
+                        .add(orZero(EXECUTOR.version))
+                        .add(orZero(labelsVersion))
+                        .sum())
+                .from(TASK)
+                .join(TASK.taskStatus, STATUS)
+                .join(TASK.author, AUTHOR)
+                .leftJoin(TASK.executor, EXECUTOR)
+                .where(predicate)
+                .fetchOne();
+        return new ListVersion(row.get(0, Long.class), row.get(1, Long.class), row.get(2, Long.class));
+    }
+
+    /**
+     * Groups on the foreign key columns, so only the labels need a join. The total is the sum of the status
+     * counts, as every task has a status.
+     */
+    @Override
+    public TaskStats findStats(final Predicate predicate) {
+        final JPAQueryFactory queryFactory = new JPAQueryFactory(entityManager);
+        final List<TaskStats.Count> statuses = countBy(queryFactory, TASK.taskStatus.id, predicate);
+        return new TaskStats(
+                statuses.stream().mapToLong(TaskStats.Count::getCount).sum(),
+                statuses,
+                countBy(queryFactory, TASK.executor.id, predicate),
+                countBy(queryFactory, TASK.author.id, predicate),
+                queryFactory
+                        .select(Projections.constructor(TaskStats.Count.class, LABEL.id, TASK.count()))
+                        .from(TASK)
+                        .join(TASK.labels, LABEL)
+                        .where(predicate)
+                        .groupBy(LABEL.id)
+                        .orderBy(LABEL.id.asc())
+                        .fetch()
+        );
+    }
+
+    private static List<TaskStats.Count> countBy(final JPAQueryFactory queryFactory, final NumberPath<Long> key,
+                                                 final Predicate predicate) {
+        return queryFactory
+                .select(Projections.constructor(TaskStats.Count.class, key, TASK.count()))
+                .from(TASK)
+                .where(predicate)
+                .groupBy(key)
+                .orderBy(key.asc().nullsFirst())
+                .fetch();
+    }
+
+    private static Map<Long, List<Tuple>> findLabels(final JPAQueryFactory queryFactory, final List<Long> taskIds) {
+        return queryFactory
+                .select(TASK.id, LABEL.id, LABEL.name, LABEL.version)
+                .from(TASK)
+                .join(TASK.labels, LABEL)
+                .where(TASK.id.in(taskIds))
+                .orderBy(LABEL.id.asc())
+                .fetch()
+                .stream()
+                .collect(groupingBy(row -> row.get(TASK.id)));
+    }
+
+    private static NumberExpression<Long> orZero(final Expression<Long> version) {
+        return Expressions.numberTemplate(Long.class, "coalesce({0}, 0)", version);
+    }
+
+    private static TaskView toView(final Tuple row, final List<Tuple> labelRows) {
+        final Long executorId = row.get(EXECUTOR.id);
+        final long referencesVersion = row.get(STATUS.version) + row.get(AUTHOR.version)
+                + (executorId == null ? 0 : row.get(EXECUTOR.version))
+                + labelRows.stream().mapToLong(label -> label.get(LABEL.version)).sum();
+        return new TaskView(
+                row.get(TASK.id),
+                row.get(TASK.name),
+                row.get(TASK.description),
+                row.get(TASK.createdAt),
+                row.get(TASK.version),
+                new TaskView.Status(row.get(STATUS.id), row.get(STATUS.name)),
+                new TaskView.Person(row.get(AUTHOR.id), row.get(AUTHOR.firstName), row.get(AUTHOR.lastName)),
+                executorId == null
+                        ? null
+                        : new TaskView.Person(executorId, row.get(EXECUTOR.firstName), row.get(EXECUTOR.lastName)),
+                labelRows.stream()
+                        .map(label -> new TaskView.LabelRef(label.get(LABEL.id), label.get(LABEL.name)))
+                        .collect(toList()),
+                referencesVersion
+        );
+    }
+}
@@ -1,10 +1,17 @@
 package hexlet.code.service;
 
 import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.ListVersion;
 import hexlet.code.model.Label;
 
+import java.util.List;
+
 public interface LabelService {
 
+    Label getLabelById(Long id);
+    List<Label> getAllLabels();
+    ListVersion getLabelsVersion();
     Label createNewLabel(LabelDto labelDto);
-    Label updateLabel(Long id, LabelDto labelDto);
+    Label updateLabel(Long id, LabelDto labelDto, Long expectedVersion);
+    void deleteLabel(Long id);
 }
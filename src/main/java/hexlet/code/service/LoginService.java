@@ -0,0 +1,12 @@
+package hexlet.code.service;
+
+import hexlet.code.dto.LoginDto;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface LoginService {
+
+    CompletableFuture<String> login(LoginDto loginDto);
+
+    String issueChangesToken();
+}
@@ -1,10 +1,29 @@
 package hexlet.code.service;
 
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.ListVersion;
+import hexlet.code.dto.TaskBatchResult;
 import hexlet.code.dto.TaskDto;
-import hexlet.code.model.Task;
+import hexlet.code.dto.TaskPage;
+import hexlet.code.dto.TaskPatchDto;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskView;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
 
 public interface TaskService {
 
-    Task createNewTask(TaskDto taskDto);
-    Task updateTask(Long id, TaskDto taskDto);
+    TaskView createNewTask(TaskDto taskDto);
+    List<TaskBatchResult> createNewTasks(List<TaskDto> taskDtos);
+    TaskView updateTask(Long id, TaskDto taskDto, Long expectedVersion);
+    TaskView patchTask(Long id, TaskPatchDto patch, Long expectedVersion);
+    void deleteTaskById(Long id);
+    TaskView getTaskById(long id);
+    TaskPage getTasks(Predicate predicate, String cursor, int size);
+    TaskPage searchTasks(String query, Predicate predicate, String cursor, int size);
+    ListVersion getTasksVersion(Predicate predicate);
+    TaskStats getTaskStats(Predicate predicate);
+    void exportTasks(OutputStream outputStream) throws IOException;
 }
@@ -1,11 +1,17 @@
 package hexlet.code.service;
 
+import hexlet.code.dto.ListVersion;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.model.TaskStatus;
 
+import java.util.List;
+
 public interface TaskStatusService {
 
+    TaskStatus getTaskStatusById(Long id);
+    List<TaskStatus> getAllTaskStatuses();
+    ListVersion getTaskStatusesVersion();
     TaskStatus createNewTaskStatus(TaskStatusDto taskStatusDto);
-    TaskStatus updateTaskStatus(Long id, TaskStatusDto taskStatusDto);
+    TaskStatus updateTaskStatus(Long id, TaskStatusDto taskStatusDto, Long expectedVersion);
     void deleteTaskStatusById(Long id);
 }
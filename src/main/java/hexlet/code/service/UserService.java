@@ -1,13 +1,20 @@
 package hexlet.code.service;
 
+import hexlet.code.dto.ListVersion;
 import hexlet.code.dto.UserDto;
 import hexlet.code.model.User;
 
+import java.util.List;
+
 public interface UserService {
 
+    User getUserById(Long id);
+    List<User> getAllUsers();
+    ListVersion getUsersVersion();
     User createNewUser(UserDto userDto);
-    User updateUser(Long id, UserDto userDto);
+    User updateUser(Long id, UserDto userDto, Long expectedVersion);
     String getCurrentUserName();
     User getCurrentUser();
+    Long getCurrentUserId();
     void deleteUserById(Long id);
 }
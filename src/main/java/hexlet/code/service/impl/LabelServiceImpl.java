@@ -1,31 +1,75 @@
 package hexlet.code.service.impl;
 
 import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.ListVersion;
+import hexlet.code.event.EntityChangedEvent;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.service.LabelService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static hexlet.code.event.EntityChangedEvent.Change.CREATED;
+import static hexlet.code.event.EntityChangedEvent.Change.DELETED;
+import static hexlet.code.event.EntityChangedEvent.Change.UPDATED;
+
 @Service
 @Transactional
 @AllArgsConstructor
 public class LabelServiceImpl implements LabelService {
 
     private final LabelRepository labelRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Label getLabelById(final Long id) {
+        return labelRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Label with id " + id + " not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Label> getAllLabels() {
+        return labelRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ListVersion getLabelsVersion() {
+        return labelRepository.findListVersion();
+    }
 
     @Override
     public Label createNewLabel(LabelDto labelDto) {
         Label label = new Label();
         label.setName(labelDto.getName());
-        return labelRepository.save(label);
+        final Label savedLabel = labelRepository.save(label);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Label.class, CREATED, savedLabel.getId()));
+        return savedLabel;
     }
 
     @Override
-    public Label updateLabel(Long id, LabelDto labelDto) {
-        final Label labelToUpdate = labelRepository.findById(id).get();
+    public Label updateLabel(Long id, LabelDto labelDto, Long expectedVersion) {
+        final Label labelToUpdate = labelRepository.getById(id);
+        if (expectedVersion != null && expectedVersion != labelToUpdate.getVersion()) {
+            throw new OptimisticLockingFailureException("Label with id " + id + " is at version "
+                    + labelToUpdate.getVersion() + ", not " + expectedVersion);
+        }
         labelToUpdate.setName(labelDto.getName());
+        eventPublisher.publishEvent(EntityChangedEvent.of(Label.class, UPDATED, id));
         return labelRepository.save(labelToUpdate);
     }
+
+    @Override
+    public void deleteLabel(Long id) {
+        labelRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.of(Label.class, DELETED, id));
+    }
 }
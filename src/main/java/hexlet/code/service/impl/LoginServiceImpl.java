@@ -0,0 +1,111 @@
+package hexlet.code.service.impl;
+
+import hexlet.code.component.JWTHelper;
+import hexlet.code.config.security.AuthenticatedUser;
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.dto.LoginDto;
+import hexlet.code.service.LoginService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static hexlet.code.component.JWTHelper.CHANGES_SCOPE;
+import static hexlet.code.component.JWTHelper.ROLE;
+import static hexlet.code.component.JWTHelper.SCOPE;
+import static hexlet.code.component.JWTHelper.USER_ID;
+import static org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter.SPRING_SECURITY_FORM_USERNAME_KEY;
+
+/**
+ * Verifies passwords on a dedicated pool sized to the core count, so a burst of logins cannot occupy
+ * the request threads with BCrypt hashing. Attempts that do not fit into the bounded queue are rejected at once.
+ */
+@Service
+public class LoginServiceImpl implements LoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final JWTHelper jwtHelper;
+    private final ThreadPoolExecutor executor;
+    private final Timer authenticationTimer;
+    private final long changesTokenSec;
+
+    public LoginServiceImpl(final AuthenticationManager authenticationManager,
+                            final JWTHelper jwtHelper,
+                            final MeterRegistry meterRegistry,
+                            @Value("${login.threads:0}") final int threads,
+                            @Value("${login.queue-capacity:64}") final int queueCapacity,
+                            @Value("${jwt.changes-token-sec:60}") final long changesTokenSec) {
+        this.authenticationManager = authenticationManager;
+        this.jwtHelper = jwtHelper;
+        this.changesTokenSec = changesTokenSec;
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "login", Tags.empty()).bindTo(meterRegistry);
+        this.authenticationTimer = Timer.builder("login.authentication")
+                .description("Time to verify login credentials")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<String> login(final LoginDto loginDto) {
+        return CompletableFuture.supplyAsync(() -> authenticationTimer.record(() -> authenticate(loginDto)), executor);
+    }
+
+    private String authenticate(final LoginDto loginDto) {
+        final Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginDto.getEmail(), loginDto.getPassword())
+        );
+        final AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
+        return jwtHelper.expiring(Map.of(
+                SPRING_SECURITY_FORM_USERNAME_KEY, user.getUsername(),
+                USER_ID, user.getId(),
+                ROLE, user.getRole().name()
+        ));
+    }
+
+    /**
+     * Issues a token that only opens the change stream, for EventSource clients that cannot send the
+     * Authorization header and pass it in the URL instead. It carries the identity of the caller and expires
+     * within a minute by default, so a URL that ends up in a log is of little use. A client that loses the stream
+     * fetches a new token before it reconnects.
+     */
+    @Override
+    public String issueChangesToken() {
+        final UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication()
+                .getPrincipal();
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put(SPRING_SECURITY_FORM_USERNAME_KEY, principal.getEmail());
+        if (principal.getId() != null) {
+            claims.put(USER_ID, principal.getId());
+        }
+        if (principal.getRole() != null) {
+            claims.put(ROLE, principal.getRole().name());
+        }
+        claims.put(SCOPE, CHANGES_SCOPE);
+        return jwtHelper.expiring(claims, changesTokenSec);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,45 +1,354 @@
 package hexlet.code.service.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import hexlet.code.dto.ListVersion;
+import hexlet.code.dto.TaskBatchResult;
+import hexlet.code.dto.TaskCursor;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPage;
+import hexlet.code.dto.TaskPatchDto;
+import hexlet.code.dto.TaskSearchCursor;
+import hexlet.code.dto.TaskSearchHit;
+import hexlet.code.dto.TaskStats;
+import hexlet.code.dto.TaskView;
+import hexlet.code.event.EntityChangedEvent;
+import hexlet.code.exception.BadRequestException;
 import hexlet.code.model.Label;
+import hexlet.code.model.QTask;
 import hexlet.code.model.Task;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.model.User;
 import hexlet.code.repository.TaskRepository;
+import hexlet.code.repository.TaskSearchIndex;
 import hexlet.code.service.TaskService;
 import hexlet.code.service.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.fasterxml.jackson.databind.SerializationFeature.FLUSH_AFTER_WRITE_VALUE;
+import static hexlet.code.config.cache.CacheConfig.TASK_STATS;
+import static hexlet.code.event.EntityChangedEvent.Change.CREATED;
+import static hexlet.code.event.EntityChangedEvent.Change.DELETED;
+import static hexlet.code.event.EntityChangedEvent.Change.UPDATED;
+import static org.springframework.transaction.annotation.Propagation.NOT_SUPPORTED;
+
 @Service
 @Transactional
 @AllArgsConstructor
 public class TaskServiceImpl implements TaskService {
 
+    private static final int EXPORT_CHUNK_SIZE = 100;
+    private static final int MAX_BATCH_SIZE = 10_000;
+    private static final int INSERT_BATCH_SIZE = 50;
+    private static final int MAX_SEARCH_TERMS = 8;
+
     private final UserService userService;
     private final TaskRepository taskRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATS, allEntries = true)
+    public TaskView createNewTask(final TaskDto taskDto) {
+        final Task newTask = taskRepository.save(fromDto(taskDto, new User(userService.getCurrentUserId())));
+        entityManager.flush();
+        eventPublisher.publishEvent(EntityChangedEvent.of(Task.class, CREATED, newTask.getId()));
+        return getTaskById(newTask.getId());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATS, allEntries = true)
+    public List<TaskBatchResult> createNewTasks(final List<TaskDto> taskDtos) {
+        if (taskDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain at most " + MAX_BATCH_SIZE + " tasks");
+        }
+        final List<TaskBatchResult> validated = validate(taskDtos);
+        if (validated.stream().anyMatch(TaskBatchResult::isRejected)) {
+            return validated;
+        }
+        final User author = new User(userService.getCurrentUserId());
+        final List<TaskBatchResult> results = new ArrayList<>(taskDtos.size());
+        for (int i = 0; i < taskDtos.size(); i++) {
+            final Task newTask = fromDto(taskDtos.get(i), author);
+            entityManager.persist(newTask);
+            results.add(TaskBatchResult.created(i, newTask.getId()));
+            if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        eventPublisher.publishEvent(new EntityChangedEvent(Task.class, CREATED, results.stream()
+                .map(TaskBatchResult::getId)
+                .collect(Collectors.toList())));
+        return results;
+    }
+
+    /**
+     * Updates the managed task in place, so its author and creation date are kept and the version is checked
+     * and incremented on flush. Related rows are referenced by id without being loaded.
+     */
+    @Override
+    public TaskView updateTask(final Long id, final TaskDto taskDto, final Long expectedVersion) {
+        final Task task = getTaskForUpdate(id, expectedVersion);
+        final long version = task.getVersion();
+        task.setName(taskDto.getName());
+        task.setDescription(taskDto.getDescription());
+        task.setTaskStatus(entityManager.getReference(TaskStatus.class, taskDto.getTaskStatusId()));
+        task.setExecutor(referenceUser(taskDto.getExecutorId()));
+        updateLabels(task, taskDto.getLabelIds());
+        entityManager.flush();
+        publishIfUpdated(task, version);
+        return getTaskById(id);
+    }
+
+    /**
+     * Applies only the masked properties; with dynamic updates the UPDATE statement sets just the columns
+     * that actually changed, and is skipped with the version bump when nothing did.
+     */
+    @Override
+    public TaskView patchTask(final Long id, final TaskPatchDto patch, final Long expectedVersion) {
+        final Set<String> fields = patch.getFields();
+        final Set<String> unknown = fields.stream()
+                .filter(field -> !TaskPatchDto.FIELDS.contains(field))
+                .collect(Collectors.toSet());
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException("Unknown task fields " + unknown
+                    + ", patchable fields are " + TaskPatchDto.FIELDS);
+        }
+        if (fields.contains(TaskPatchDto.NAME) && (patch.getName() == null || patch.getName().isBlank())) {
+            throw new BadRequestException("Task name must not be blank");
+        }
+        if (fields.contains(TaskPatchDto.TASK_STATUS_ID) && patch.getTaskStatusId() == null) {
+            throw new BadRequestException("Task status must not be null");
+        }
+        final Task task = getTaskForUpdate(id, expectedVersion);
+        final long version = task.getVersion();
+        if (fields.contains(TaskPatchDto.NAME)) {
+            task.setName(patch.getName());
+        }
+        if (fields.contains(TaskPatchDto.DESCRIPTION)) {
+            task.setDescription(patch.getDescription());
+        }
+        if (fields.contains(TaskPatchDto.TASK_STATUS_ID)) {
+            task.setTaskStatus(entityManager.getReference(TaskStatus.class, patch.getTaskStatusId()));
+        }
+        if (fields.contains(TaskPatchDto.EXECUTOR_ID)) {
+            task.setExecutor(referenceUser(patch.getExecutorId()));
+        }
+        if (fields.contains(TaskPatchDto.LABEL_IDS)) {
+            updateLabels(task, patch.getLabelIds());
+        }
+        entityManager.flush();
+        publishIfUpdated(task, version);
+        return getTaskById(id);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = TASK_STATS, allEntries = true)
+    public void deleteTaskById(final Long id) {
+        if (taskRepository.deleteByIdAndAuthorId(id, userService.getCurrentUserId()) == 0) {
+            if (taskRepository.findAuthorIdById(id).isEmpty()) {
+                throw new NoSuchElementException("Task with id " + id + " not found");
+            }
+            throw new AccessDeniedException("Only the author can delete task with id " + id);
+        }
+        eventPublisher.publishEvent(EntityChangedEvent.of(Task.class, DELETED, id));
+    }
 
     @Override
-    public Task createNewTask(final TaskDto taskDto) {
-        final Task newTask = fromDto(taskDto);
-        return taskRepository.save(newTask);
+    @Transactional(readOnly = true)
+    public TaskView getTaskById(final long id) {
+        return taskRepository.findViews(QTask.task.id.eq(id), 1).stream()
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
     }
 
     @Override
-    public Task updateTask(final Long id, final TaskDto taskDto) {
-        final Task taskToUpdate = fromDto(taskDto);
-        taskToUpdate.setId(id);
-        return taskRepository.save(taskToUpdate);
+    @Transactional(readOnly = true)
+    public TaskPage getTasks(final Predicate predicate, final String cursor, final int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        final BooleanBuilder where = new BooleanBuilder().and(predicate);
+        if (cursor != null) {
+            where.and(TaskCursor.decode(cursor).after(QTask.task));
+        }
+        final List<TaskView> tasks = taskRepository.findViews(where.getValue(), size + 1);
+        if (tasks.size() <= size) {
+            return new TaskPage(tasks, null);
+        }
+        final List<TaskView> page = tasks.subList(0, size);
+        return new TaskPage(page, TaskCursor.of(page.get(size - 1)).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage searchTasks(final String query, final Predicate predicate, final String cursor, final int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        final List<String> terms = TaskSearchIndex.tokenize(query);
+        if (terms.isEmpty() || terms.size() > MAX_SEARCH_TERMS) {
+            throw new BadRequestException("Search query must contain 1 to " + MAX_SEARCH_TERMS + " words");
+        }
+        final TaskSearchCursor after = cursor == null ? null : TaskSearchCursor.decode(cursor);
+        final List<TaskSearchHit> hits = taskSearchIndex.search(terms, new BooleanBuilder().and(predicate).getValue(),
+                after, size + 1);
+        if (hits.isEmpty()) {
+            return new TaskPage(List.of(), null);
+        }
+        final List<TaskSearchHit> page = hits.subList(0, Math.min(size, hits.size()));
+        final Map<Long, TaskView> views = taskRepository.findViews(QTask.task.id.in(page.stream()
+                        .map(TaskSearchHit::getId)
+                        .collect(Collectors.toList())), page.size())
+                .stream()
+                .collect(Collectors.toMap(TaskView::getId, Function.identity()));
+        final List<TaskView> tasks = page.stream()
+                .map(hit -> views.get(hit.getId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new TaskPage(tasks, hits.size() > size ? TaskSearchCursor.of(page.get(size - 1)).encode() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ListVersion getTasksVersion(final Predicate predicate) {
+        return taskRepository.findListVersion(new BooleanBuilder().and(predicate).getValue());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStats getTaskStats(final Predicate predicate) {
+        return taskRepository.findStats(new BooleanBuilder().and(predicate).getValue());
+    }
+
+    /**
+     * Writes the compact views of all tasks, one JSON object per line, a keyset chunk at a time. Each chunk is
+     * a single query with the labels of its tasks batch-loaded, in a short read-only transaction of its own,
+     * so no connection is held while a chunk is written to the client and only one chunk is held in memory.
+     */
+    @Override
+    @Transactional(propagation = NOT_SUPPORTED)
+    public void exportTasks(final OutputStream outputStream) throws IOException {
+        final ObjectWriter writer = objectMapper.writer().without(FLUSH_AFTER_WRITE_VALUE);
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            Predicate after = null;
+            List<TaskView> chunk;
+            do {
+                final Predicate where = after;
+                chunk = readOnly.execute(transaction -> taskRepository.findViews(where, EXPORT_CHUNK_SIZE));
+                for (TaskView task : chunk) {
+                    writer.writeValue(generator, task);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                if (!chunk.isEmpty()) {
+                    after = TaskCursor.of(chunk.get(chunk.size() - 1)).after(QTask.task);
+                }
+            } while (chunk.size() == EXPORT_CHUNK_SIZE);
+        }
+    }
+
+    /**
+     * Announces the update and drops the cached counts only when the flush bumped the version, which a changed
+     * label set does as well; a write that changed nothing leaves the outbox, the feed and the caches alone.
+     */
+    private void publishIfUpdated(final Task task, final long version) {
+        if (task.getVersion() != version) {
+            Objects.requireNonNull(cacheManager.getCache(TASK_STATS)).clear();
+            eventPublisher.publishEvent(EntityChangedEvent.of(Task.class, UPDATED, task.getId()));
+        }
+    }
+
+    private Task getTaskForUpdate(final Long id, final Long expectedVersion) {
+        final Task task = taskRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Task with id " + id + " not found"));
+        if (expectedVersion != null && expectedVersion != task.getVersion()) {
+            throw new OptimisticLockingFailureException("Task with id " + id + " is at version "
+                    + task.getVersion() + ", not " + expectedVersion);
+        }
+        return task;
+    }
+
+    private User referenceUser(final Long id) {
+        return id == null ? null : entityManager.getReference(User.class, id);
+    }
+
+    /**
+     * Removes the labels that are no longer wanted and adds the missing ones, so only the changed rows of the
+     * join table are deleted or inserted.
+     */
+    private void updateLabels(final Task task, final Set<Long> labelIds) {
+        final Set<Long> added = Optional.ofNullable(labelIds)
+                .orElse(Set.of())
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(HashSet::new));
+        task.getLabels().removeIf(label -> !added.remove(label.getId()));
+        added.stream()
+                .map(labelId -> entityManager.getReference(Label.class, labelId))
+                .forEach(task.getLabels()::add);
+    }
+
+    /**
+     * Validates every item before anything is inserted, so a batch is either created as a whole or not at all.
+     */
+    private List<TaskBatchResult> validate(final List<TaskDto> taskDtos) {
+        final List<TaskBatchResult> results = new ArrayList<>(taskDtos.size());
+        for (int i = 0; i < taskDtos.size(); i++) {
+            final TaskDto taskDto = taskDtos.get(i);
+            final List<String> errors = taskDto == null
+                    ? List.of("task must not be null")
+                    : validator.validate(taskDto).stream()
+                            .map(TaskServiceImpl::describe)
+                            .sorted()
+                            .collect(Collectors.toList());
+            results.add(new TaskBatchResult(i, null, errors));
+        }
+        return results;
+    }
+
+    private static String describe(final ConstraintViolation<TaskDto> violation) {
+        return violation.getPropertyPath() + " " + violation.getMessage();
     }
 
-    private Task fromDto(final TaskDto dto) {
-        final User author = userService.getCurrentUser();
+    Task fromDto(final TaskDto dto, final User author) {
         final User executor = Optional.ofNullable(dto.getExecutorId())
                 .map(User::new)
                 .orElse(null);
@@ -1,14 +1,25 @@
 package hexlet.code.service.impl;
 
+import hexlet.code.dto.ListVersion;
 import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.event.EntityChangedEvent;
 import hexlet.code.model.TaskStatus;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.service.TaskStatusService;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static hexlet.code.event.EntityChangedEvent.Change.CREATED;
+import static hexlet.code.event.EntityChangedEvent.Change.DELETED;
+import static hexlet.code.event.EntityChangedEvent.Change.UPDATED;
+
 @Service
 @Transactional
 @AllArgsConstructor
@@ -16,18 +27,46 @@ public class TaskStatusServiceImpl implements TaskStatusService {
 
     @Autowired
     private TaskStatusRepository taskStatusRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public TaskStatus getTaskStatusById(final Long id) {
+        return taskStatusRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("Status with id " + id + " not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TaskStatus> getAllTaskStatuses() {
+        return taskStatusRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ListVersion getTaskStatusesVersion() {
+        return taskStatusRepository.findListVersion();
+    }
 
     @Override
     public TaskStatus createNewTaskStatus(TaskStatusDto taskStatusDto) {
         TaskStatus taskStatus = new TaskStatus();
         taskStatus.setName(taskStatusDto.getName());
-        return taskStatusRepository.save(taskStatus);
+        final TaskStatus savedTaskStatus = taskStatusRepository.save(taskStatus);
+        eventPublisher.publishEvent(EntityChangedEvent.of(TaskStatus.class, CREATED, savedTaskStatus.getId()));
+        return savedTaskStatus;
     }
 
     @Override
-    public TaskStatus updateTaskStatus(Long id, TaskStatusDto taskStatusDto) {
-        final TaskStatus taskStatusToUpdate = taskStatusRepository.findById(id).get();
+    public TaskStatus updateTaskStatus(Long id, TaskStatusDto taskStatusDto, Long expectedVersion) {
+        final TaskStatus taskStatusToUpdate = taskStatusRepository.getById(id);
+        if (expectedVersion != null && expectedVersion != taskStatusToUpdate.getVersion()) {
+            throw new OptimisticLockingFailureException("Status with id " + id + " is at version "
+                    + taskStatusToUpdate.getVersion() + ", not " + expectedVersion);
+        }
         taskStatusToUpdate.setName(taskStatusDto.getName());
+        eventPublisher.publishEvent(EntityChangedEvent.of(TaskStatus.class, UPDATED, id));
         return taskStatusRepository.save(taskStatusToUpdate);
     }
 
@@ -36,5 +75,6 @@ public class TaskStatusServiceImpl implements TaskStatusService {
         TaskStatus taskStatus = taskStatusRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Status with id: " + id + ", not found"));
         taskStatusRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.of(TaskStatus.class, DELETED, id));
     }
 }
@@ -1,5 +1,6 @@
 package hexlet.code.service.impl;
 
+import hexlet.code.config.security.AuthenticatedUser;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,8 +22,6 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("user"));
         User user = userRepository.findByEmail(email).get();
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(), user.getPassword(), authorities
-        );
+        return new AuthenticatedUser(user, authorities);
     }
 }
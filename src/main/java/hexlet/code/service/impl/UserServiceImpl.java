@@ -1,16 +1,27 @@
 package hexlet.code.service.impl;
 
+import hexlet.code.config.security.UserPrincipal;
+import hexlet.code.dto.ListVersion;
 import hexlet.code.dto.UserDto;
+import hexlet.code.event.EntityChangedEvent;
 import hexlet.code.model.Role;
 import hexlet.code.model.User;
 import hexlet.code.repository.UserRepository;
 import hexlet.code.service.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static hexlet.code.event.EntityChangedEvent.Change.CREATED;
+import static hexlet.code.event.EntityChangedEvent.Change.DELETED;
+import static hexlet.code.event.EntityChangedEvent.Change.UPDATED;
 
 @Service
 @Transactional
@@ -19,6 +30,26 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public User getUserById(final Long id) {
+        return userRepository.findById(id)
+                .orElseThrow(() -> new NoSuchElementException("User with id " + id + " not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<User> getAllUsers() {
+        return userRepository.findAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ListVersion getUsersVersion() {
+        return userRepository.findListVersion();
+    }
 
     @Override
     public User createNewUser(UserDto userDto) {
@@ -28,16 +59,23 @@ public class UserServiceImpl implements UserService {
         user.setEmail(userDto.getEmail());
         user.setRole(Role.USER);
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
-        return userRepository.save(user);
+        final User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(EntityChangedEvent.of(User.class, CREATED, savedUser.getId()));
+        return savedUser;
     }
 
     @Override
-    public User updateUser(Long id, UserDto userDto) {
+    public User updateUser(Long id, UserDto userDto, Long expectedVersion) {
         final User userToUpdate = userRepository.findById(id).get();
+        if (expectedVersion != null && expectedVersion != userToUpdate.getVersion()) {
+            throw new OptimisticLockingFailureException("User with id " + id + " is at version "
+                    + userToUpdate.getVersion() + ", not " + expectedVersion);
+        }
         userToUpdate.setFirstName(userDto.getFirstName());
         userToUpdate.setLastName(userDto.getLastName());
         userToUpdate.setEmail(userDto.getEmail());
         userToUpdate.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        eventPublisher.publishEvent(EntityChangedEvent.of(User.class, UPDATED, id));
         return userRepository.save(userToUpdate);
     }
 
@@ -51,10 +89,18 @@ public class UserServiceImpl implements UserService {
         return userRepository.findByEmail(getCurrentUserName()).get();
     }
 
+    @Override
+    public Long getCurrentUserId() {
+        final Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        if (principal instanceof UserPrincipal && ((UserPrincipal) principal).getId() != null) {
+            return ((UserPrincipal) principal).getId();
+        }
+        return getCurrentUser().getId();
+    }
+
     @Override
     public void deleteUserById(Long id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("User " + id + " not found"));
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(EntityChangedEvent.of(User.class, DELETED, id));
     }
 }
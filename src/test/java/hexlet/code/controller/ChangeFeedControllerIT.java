@@ -0,0 +1,166 @@
+package hexlet.code.controller;
+
+import hexlet.code.component.ChangeFeed;
+import hexlet.code.component.JWTHelper;
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.repository.LabelRepository;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.controller.ChangeFeedController.ACCESS_TOKEN;
+import static hexlet.code.controller.ChangeFeedController.CHANGES_PATH;
+import static hexlet.code.controller.ChangeFeedController.LAST_EVENT_ID;
+import static hexlet.code.controller.ChangeFeedController.TOKEN_PATH;
+import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
+import static hexlet.code.utils.TestUtils.TEST_USERNAME;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class,
+        properties = "change-feed.max-subscribers=" + ChangeFeedControllerIT.MAX_SUBSCRIBERS)
+public class ChangeFeedControllerIT {
+
+    public static final String BASE_URL = "/api";
+    public static final int MAX_SUBSCRIBERS = 4;
+    private static final long TIMEOUT_SECONDS = 5;
+    private final List<MvcResult> streams = new ArrayList<>();
+    @Autowired
+    private ChangeFeed changeFeed;
+    @Autowired
+    private LabelRepository labelRepository;
+    @Autowired
+    private JWTHelper jwtHelper;
+    @Autowired
+    private TestUtils utils;
+
+    @BeforeEach
+    public void testInit() throws Exception {
+        utils.regDefaultUser();
+    }
+
+    @AfterEach
+    public void clear() {
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+        utils.tearDown();
+    }
+
+
+    @Test
+    public void streamCommittedChangesAndResume() throws Exception {
+        final MvcResult stream = subscribe(null);
+        utils.createLabel(new LabelDto("Streamed label")).andExpect(status().isCreated());
+        final long labelId = labelRepository.findAll().get(0).getId();
+
+        final String created = "\"type\":\"label\",\"change\":\"CREATED\",\"id\":" + labelId;
+        final String eventId = Arrays.stream(awaitContent(stream, created).split("\n"))
+                .filter(line -> line.startsWith("id:"))
+                .reduce((first, last) -> last)
+                .orElseThrow()
+                .substring("id:".length());
+
+        final int separator = eventId.lastIndexOf('-');
+        final String previousEventId = eventId.substring(0, separator + 1)
+                + (Long.parseLong(eventId.substring(separator + 1)) - 1);
+        awaitContent(subscribe(previousEventId), created);
+    }
+
+
+    @Test
+    public void resetWhenResumingFromUnknownEvent() throws Exception {
+        awaitContent(subscribe("unknown-1"), "event:reset");
+    }
+
+
+    @Test
+    public void streamWithTokenInsteadOfHeader() throws Exception {
+        final String token = utils.perform(post(BASE_URL + CHANGES_PATH + TOKEN_PATH), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        final MvcResult stream = utils.perform(get(BASE_URL + CHANGES_PATH).param(ACCESS_TOKEN, token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(stream);
+        utils.createLabel(new LabelDto("Streamed label")).andExpect(status().isCreated());
+        awaitContent(stream, "\"type\":\"label\",\"change\":\"CREATED\"");
+    }
+
+
+    @Test
+    public void acceptStreamTokensOnlyForTheStream() throws Exception {
+        final String token = utils.perform(post(BASE_URL + CHANGES_PATH + TOKEN_PATH), TEST_USERNAME)
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH).header(AUTHORIZATION, token))
+                .andExpect(status().isForbidden());
+
+        final String loginToken = jwtHelper.expiring(Map.of("username", TEST_USERNAME));
+        utils.perform(get(BASE_URL + CHANGES_PATH).param(ACCESS_TOKEN, loginToken))
+                .andExpect(status().isForbidden());
+    }
+
+
+    @Test
+    public void rejectSubscribersOverTheCap() throws Exception {
+        while (changeFeed.getSubscriberCount() < MAX_SUBSCRIBERS) {
+            subscribe(null);
+        }
+        utils.perform(get(BASE_URL + CHANGES_PATH), TEST_USERNAME)
+                .andExpect(status().isTooManyRequests());
+
+        streams.remove(0).getRequest().getAsyncContext().complete();
+        subscribe(null);
+    }
+
+
+    private MvcResult subscribe(final String lastEventId) throws Exception {
+        final var subscription = get(BASE_URL + CHANGES_PATH);
+        if (lastEventId != null) {
+            subscription.header(LAST_EVENT_ID, lastEventId);
+        }
+        final MvcResult stream = utils.perform(subscription, TEST_USERNAME)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(stream);
+        return stream;
+    }
+
+    private static String awaitContent(final MvcResult stream, final String expected) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
@@ -1,11 +1,14 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.component.SqlStatementCounter;
 import hexlet.code.dto.LabelDto;
 import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.config.cache.WriteGenerationCache;
 import hexlet.code.model.Label;
 import hexlet.code.repository.LabelRepository;
 import hexlet.code.utils.TestUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,12 +16,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.config.cache.CacheConfig.LABELS;
 import static hexlet.code.controller.LabelController.ID;
 import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
 import static hexlet.code.utils.TestUtils.TEST_USERNAME;
@@ -28,6 +38,9 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -45,6 +58,14 @@ public class LabelControllerIT {
     @Autowired
     private LabelRepository labelRepository;
     @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
     private TestUtils utils;
 
     @BeforeEach
@@ -109,6 +130,134 @@ public class LabelControllerIT {
     }
 
 
+    @Test
+    public void getCachedLabelUntilUpdated() throws Exception {
+        final long labelId = labelRepository.findAll().get(0).getId();
+        utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId), TEST_USERNAME)
+                .andExpect(status().isOk());
+        utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId), TEST_USERNAME)
+                .andExpect(status().isOk());
+        assertEquals(0, sqlStatementCounter.getCount());
+
+        final var updateRequest = put(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId)
+                .content(asJson(new LabelDto("Updated label")))
+                .contentType(APPLICATION_JSON);
+        utils.perform(updateRequest, TEST_USERNAME).andExpect(status().isOk());
+        final var response = utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final Label label = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals("Updated label", label.getName());
+    }
+
+
+    @Test
+    public void getUnknownLabelRetainsNoMiss() throws Exception {
+        final long unknownId = labelRepository.findAll().get(0).getId() + 1;
+        utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH + ID, unknownId), TEST_USERNAME)
+                .andExpect(status().isNotFound());
+
+        final var labels = (TransactionAwareCacheDecorator) cacheManager.getCache(LABELS);
+        assertEquals(0, ((WriteGenerationCache) labels.getTargetCache()).getPendingMissCount());
+    }
+
+
+    @Test
+    public void countCacheHits() throws Exception {
+        final long labelId = labelRepository.findAll().get(0).getId();
+        utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId), TEST_USERNAME)
+                .andExpect(status().isOk());
+        final double hits = cacheHits();
+        utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId), TEST_USERNAME)
+                .andExpect(status().isOk());
+        assertEquals(hits + 1, cacheHits());
+    }
+
+
+    @Test
+    public void dropCachedReadOverlappingUpdate() {
+        final long labelId = labelRepository.findAll().get(0).getId();
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(transaction -> {
+            assertEquals("Test label", labelRepository.findById(labelId).get().getName());
+            CompletableFuture.runAsync(() -> {
+                try {
+                    final var updateRequest = put(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId)
+                            .content(asJson(new LabelDto("Updated label")))
+                            .contentType(APPLICATION_JSON);
+                    utils.perform(updateRequest, TEST_USERNAME).andExpect(status().isOk());
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }).join();
+        });
+        assertEquals("Updated label", labelRepository.findById(labelId).get().getName());
+    }
+
+
+    @Test
+    public void updateUnknownLabel() throws Exception {
+        final long unknownId = labelRepository.findAll().get(0).getId() + 1;
+        final var updateRequest = put(BASE_URL + LABEL_CONTROLLER_PATH + ID, unknownId)
+                .content(asJson(new LabelDto("Updated label")))
+                .contentType(APPLICATION_JSON);
+        utils.perform(updateRequest, TEST_USERNAME).andExpect(status().isNotFound());
+    }
+
+
+    @Test
+    public void getLabelsNotModifiedUntilUpdated() throws Exception {
+        final long labelId = labelRepository.findAll().get(0).getId();
+        final String eTag = utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        assertTrue(eTag.startsWith("W/"));
+
+        final var notModified = utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH).header(IF_NONE_MATCH, eTag),
+                        TEST_USERNAME)
+                .andExpect(status().isNotModified())
+                .andReturn()
+                .getResponse();
+        assertEquals("", notModified.getContentAsString());
+
+        final var updateRequest = put(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId)
+                .content(asJson(new LabelDto("Updated label")))
+                .contentType(APPLICATION_JSON);
+        utils.perform(updateRequest, TEST_USERNAME).andExpect(status().isOk());
+        utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH).header(IF_NONE_MATCH, eTag), TEST_USERNAME)
+                .andExpect(status().isOk());
+    }
+
+
+    @Test
+    public void updateLabelWithStaleETag() throws Exception {
+        final long labelId = labelRepository.findAll().get(0).getId();
+        final String eTag = utils.perform(get(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        final var update = put(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId)
+                .header(IF_MATCH, eTag)
+                .content(asJson(new LabelDto("Updated label")))
+                .contentType(APPLICATION_JSON);
+        utils.perform(update, TEST_USERNAME).andExpect(status().isOk());
+
+        final var staleUpdate = put(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId)
+                .header(IF_MATCH, eTag)
+                .content(asJson(new LabelDto("Stale label")))
+                .contentType(APPLICATION_JSON);
+        utils.perform(staleUpdate, TEST_USERNAME).andExpect(status().isPreconditionFailed());
+        assertEquals("Updated label", labelRepository.findById(labelId).get().getName());
+    }
+
+
     @Test
     public void deleteLabel() throws Exception {
         assertEquals(1, labelRepository.count());
@@ -117,4 +266,12 @@ public class LabelControllerIT {
                 .andExpect(status().isOk());
         assertEquals(0, labelRepository.count());
     }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", LABELS)
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
 }
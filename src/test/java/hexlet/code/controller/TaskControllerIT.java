@@ -1,8 +1,16 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskBatchResult;
 import hexlet.code.dto.TaskDto;
+import hexlet.code.dto.TaskPatchDto;
+import hexlet.code.dto.TaskStats;
 import hexlet.code.dto.TaskStatusDto;
+import hexlet.code.dto.UserDto;
+import hexlet.code.component.SqlStatementCounter;
+import hexlet.code.component.outbox.InMemoryOutboxSink;
+import hexlet.code.component.outbox.OutboxDispatcher;
 import hexlet.code.config.SpringConfigForIT;
 import hexlet.code.model.Label;
 import hexlet.code.model.Task;
@@ -22,23 +30,46 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
 import static hexlet.code.controller.LabelController.ID;
+import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
+import static hexlet.code.controller.TaskController.BATCH_PATH;
+import static hexlet.code.controller.TaskController.EXPORT_PATH;
+import static hexlet.code.controller.TaskController.NEXT_CURSOR_HEADER;
+import static hexlet.code.controller.TaskController.SEARCH_PATH;
+import static hexlet.code.controller.TaskController.STATS_PATH;
 import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
 import static hexlet.code.utils.TestUtils.asJson;
 import static hexlet.code.utils.TestUtils.fromJson;
 import static hexlet.code.utils.TestUtils.TEST_USERNAME;
+import static hexlet.code.utils.TestUtils.TEST_USERNAME_2;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.ETAG;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -57,6 +88,14 @@ public class TaskControllerIT {
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
+    private SqlStatementCounter sqlStatementCounter;
+    @Autowired
+    private InMemoryOutboxSink outboxSink;
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
     private TestUtils utils;
     private TaskDto taskDto;
 
@@ -101,6 +140,58 @@ public class TaskControllerIT {
         utils.perform(postRequest, TEST_USERNAME).andExpect(status().isCreated());
     }
 
+    @Test
+    public void testCreateTasksInBatch() throws Exception {
+        final long statusId = taskStatusRepository.findAll().get(0).getId();
+        final long labelId = labelRepository.findAll().get(0).getId();
+        final List<TaskDto> taskDtos = List.of(
+                new TaskDto("Batch task 1", null, statusId, Set.of(labelId), null),
+                new TaskDto("Batch task 2", null, statusId, null, null),
+                new TaskDto("Batch task 3", "Description", statusId, Set.of(labelId), null)
+        );
+        final var response = utils.perform(post(BASE_URL + TASK_CONTROLLER_PATH + BATCH_PATH)
+                                .content(asJson(taskDtos))
+                                .contentType(APPLICATION_JSON),
+                        TEST_USERNAME)
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse();
+        final List<TaskBatchResult> results = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertEquals(taskDtos.size(), results.size());
+        assertEquals(4, taskRepository.count());
+        for (TaskBatchResult result : results) {
+            assertTrue(result.getErrors().isEmpty());
+            final Task task = taskRepository.findById(result.getId()).get();
+            assertEquals(taskDtos.get(result.getIndex()).getName(), task.getName());
+            assertEquals(TEST_USERNAME, task.getAuthor().getEmail());
+        }
+    }
+
+    @Test
+    public void testCreateTasksInBatchWithInvalidItem() throws Exception {
+        final long statusId = taskStatusRepository.findAll().get(0).getId();
+        final List<TaskDto> taskDtos = List.of(
+                new TaskDto("Batch task 1", null, statusId, null, null),
+                new TaskDto("", null, null, null, null)
+        );
+        final var response = utils.perform(post(BASE_URL + TASK_CONTROLLER_PATH + BATCH_PATH)
+                                .content(asJson(taskDtos))
+                                .contentType(APPLICATION_JSON),
+                        TEST_USERNAME)
+                .andExpect(status().isUnprocessableEntity())
+                .andReturn()
+                .getResponse();
+        final List<TaskBatchResult> results = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertEquals(1, taskRepository.count());
+        assertTrue(results.get(0).getErrors().isEmpty());
+        assertThat(results.get(1).getErrors()).hasSize(3);
+        assertNull(results.get(1).getId());
+    }
+
     @Test
     public void testUpdateTask() throws Exception {
         final long taskId = taskRepository.findAll().get(0).getId();
@@ -125,6 +216,141 @@ public class TaskControllerIT {
         assertEquals(task.getDescription(), updateDto.getDescription());
     }
 
+    @Test
+    public void renamingLabelChangesTaskTags() throws Exception {
+        final long taskId = taskRepository.findAll().get(0).getId();
+        final String taskTag = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + ID, taskId), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        final String listTag = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+
+        final long labelId = labelRepository.findAll().get(0).getId();
+        utils.perform(put(BASE_URL + LABEL_CONTROLLER_PATH + ID, labelId)
+                        .content(asJson(new LabelDto("Renamed label")))
+                        .contentType(APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        final String body = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + ID, taskId)
+                        .header(IF_NONE_MATCH, taskTag), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(body).contains("Renamed label");
+        utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH).header(IF_NONE_MATCH, listTag), TEST_USERNAME)
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void updateTaskIfMatchKeepsAuthor() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        final String eTag = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + ID, existingTask.getId()),
+                        TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + ID, existingTask.getId()).header(IF_NONE_MATCH, eTag),
+                        TEST_USERNAME)
+                .andExpect(status().isNotModified());
+
+        final TaskDto updateDto = new TaskDto(
+                "New test task",
+                null,
+                existingTask.getTaskStatus().getId(),
+                Set.of(),
+                null);
+        final var update = put(BASE_URL + TASK_CONTROLLER_PATH + ID, existingTask.getId())
+                .header(IF_MATCH, eTag)
+                .content(asJson(updateDto))
+                .contentType(APPLICATION_JSON);
+        final var response = utils.perform(update, TEST_USERNAME_2)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final Task task = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(existingTask.getVersion() + 1, task.getVersion());
+        assertEquals(existingTask.getAuthor().getId(), task.getAuthor().getId());
+        assertNull(task.getExecutor());
+        assertTrue(task.getLabels().isEmpty());
+
+        utils.perform(update, TEST_USERNAME).andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void patchTaskAppliesOnlyMaskedFields() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        final TaskPatchDto patchDto = new TaskPatchDto(
+                Set.of(TaskPatchDto.NAME, TaskPatchDto.EXECUTOR_ID),
+                "Patched task",
+                "Ignored description",
+                null,
+                null,
+                null);
+        final var response = utils.perform(patch(BASE_URL + TASK_CONTROLLER_PATH + ID, existingTask.getId())
+                        .content(asJson(patchDto))
+                        .contentType(APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final Task task = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals("Patched task", task.getName());
+        assertEquals(existingTask.getDescription(), task.getDescription());
+        assertEquals(existingTask.getTaskStatus().getId(), task.getTaskStatus().getId());
+        assertNull(task.getExecutor());
+        assertEquals(1, task.getLabels().size());
+        assertEquals(existingTask.getVersion() + 1, task.getVersion());
+
+        final long otherLabelId = fromJson(utils.createLabel(new LabelDto("Other label"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), new TypeReference<Label>() {
+                }).getId();
+        final TaskPatchDto labelChange = new TaskPatchDto(
+                Set.of(TaskPatchDto.LABEL_IDS), null, null, null, Set.of(otherLabelId), null);
+        final Task relabelled = fromJson(utils.perform(patch(BASE_URL + TASK_CONTROLLER_PATH + ID, task.getId())
+                        .content(asJson(labelChange))
+                        .contentType(APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), new TypeReference<>() {
+                });
+        // the task select, its version update, one link delete and one link insert, the view and its labels,
+        // the outbox insert and its occasional sequence fetch
+        assertThat(sqlStatementCounter.getCount()).isLessThanOrEqualTo(8);
+        assertEquals(otherLabelId, relabelled.getLabels().iterator().next().getId());
+
+        outboxDispatcher.dispatch();
+        final TaskPatchDto noOp = new TaskPatchDto(Set.of(TaskPatchDto.NAME), "Patched task", null, null, null, null);
+        final Task unchanged = fromJson(utils.perform(patch(BASE_URL + TASK_CONTROLLER_PATH + ID, task.getId())
+                        .content(asJson(noOp))
+                        .contentType(APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), new TypeReference<>() {
+                });
+        // nothing is dirty, so no update and no change to announce: the task select, the view and its labels
+        assertThat(sqlStatementCounter.getCount()).isLessThanOrEqualTo(3);
+        assertEquals(relabelled.getVersion(), unchanged.getVersion());
+        assertEquals(0, outboxDispatcher.dispatch());
+
+        final TaskPatchDto unknownField = new TaskPatchDto(Set.of("author"), null, null, null, null, null);
+        utils.perform(patch(BASE_URL + TASK_CONTROLLER_PATH + ID, existingTask.getId())
+                        .content(asJson(unknownField))
+                        .contentType(APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void getAllTasks() throws Exception {
         final var response = utils.perform(
@@ -136,11 +362,392 @@ public class TaskControllerIT {
         assertEquals(1, taskRepository.count());
     }
 
+    @Test
+    public void createTaskReturnsCompactReferences() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        final var response = utils.createTask(new TaskDto(
+                        "Compact task",
+                        null,
+                        existingTask.getTaskStatus().getId(),
+                        Set.of(labelRepository.findAll().get(0).getId()),
+                        null))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse();
+        final Map<String, Object> task = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertEquals("Compact task", task.get("name"));
+        assertEquals(Set.of("id", "name"), ((Map<?, ?>) task.get("taskStatus")).keySet());
+        assertEquals(Set.of("id", "firstName", "lastName"), ((Map<?, ?>) task.get("author")).keySet());
+        assertNull(task.get("executor"));
+        assertEquals(Set.of("id", "name"), ((Map<?, ?>) ((List<?>) task.get("labels")).get(0)).keySet());
+    }
+
+    @Test
+    public void getTaskById() throws Exception {
+        final Task expectedTask = taskRepository.findAll().get(0);
+        final User author = userRepository.findByEmail(TEST_USERNAME).get();
+        final var response = utils.perform(
+                        get(BASE_URL + TASK_CONTROLLER_PATH + ID, expectedTask.getId()),
+                        TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final Task task = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+
+        assertEquals(expectedTask.getId(), task.getId());
+        assertEquals(expectedTask.getName(), task.getName());
+        assertEquals(expectedTask.getTaskStatus().getName(), task.getTaskStatus().getName());
+        assertEquals(author.getFirstName(), task.getAuthor().getFirstName());
+        assertEquals(author.getId(), task.getExecutor().getId());
+        assertNull(task.getAuthor().getEmail());
+        assertEquals(1, task.getLabels().size());
+        assertThat(sqlStatementCounter.getCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void getTaskByUnknownId() throws Exception {
+        final long unknownId = taskRepository.findAll().get(0).getId() + 1;
+        utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + ID, unknownId), TEST_USERNAME)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void getTasksWithoutNPlusOneQueries() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        for (int i = 1; i <= 20; i++) {
+            final Label label = new Label();
+            label.setName("Label " + i);
+            labelRepository.save(label);
+            utils.createTask(new TaskDto(
+                    "Test task " + i,
+                    "Test description " + i,
+                    existingTask.getTaskStatus().getId(),
+                    Set.of(label.getId()),
+                    existingTask.getExecutor().getId()
+            )).andExpect(status().isCreated());
+        }
+
+        final var response = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> tasks = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(21, tasks.size());
+        assertThat(sqlStatementCounter.getCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void getTasksByCursor() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        for (int i = 1; i <= 2; i++) {
+            utils.createTask(new TaskDto(
+                    "Test task " + i,
+                    "Test description " + i,
+                    existingTask.getTaskStatus().getId(),
+                    Set.of(),
+                    null
+            )).andExpect(status().isCreated());
+        }
+
+        final var firstPage = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH).param("size", "2"), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> firstTasks = fromJson(firstPage.getContentAsString(), new TypeReference<>() {
+        });
+        final String cursor = firstPage.getHeader(NEXT_CURSOR_HEADER);
+        assertEquals(2, firstTasks.size());
+        assertEquals(existingTask.getId(), firstTasks.get(0).getId());
+        assertNotNull(cursor);
+
+        final var secondPage = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH)
+                                .param("size", "2")
+                                .param("cursor", cursor),
+                        TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> secondTasks = fromJson(secondPage.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(1, secondTasks.size());
+        assertEquals("Test task 2", secondTasks.get(0).getName());
+        assertNull(secondPage.getHeader(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    public void searchTasksByRankWithFiltersAndCursor() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        final Long statusId = existingTask.getTaskStatus().getId();
+        final Long executorId = existingTask.getExecutor().getId();
+        utils.createTask(new TaskDto("Deploy release", "Deploy the deployment scripts", statusId, Set.of(), executorId))
+                .andExpect(status().isCreated());
+        utils.createTask(new TaskDto("Deployment review", null, statusId, Set.of(), null))
+                .andExpect(status().isCreated());
+        utils.createTask(new TaskDto("Review notes", null, statusId, Set.of(), null))
+                .andExpect(status().isCreated());
+
+        final var firstPage = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + SEARCH_PATH)
+                        .param("q", "DEPLO")
+                        .param("size", "1"), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> firstTasks = fromJson(firstPage.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(List.of("Deploy release"), firstTasks.stream().map(Task::getName).toList());
+
+        final var secondPage = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + SEARCH_PATH)
+                        .param("q", "DEPLO")
+                        .param("size", "1")
+                        .param("cursor", firstPage.getHeader(NEXT_CURSOR_HEADER)), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> secondTasks = fromJson(secondPage.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(List.of("Deployment review"), secondTasks.stream().map(Task::getName).toList());
+        assertNull(secondPage.getHeader(NEXT_CURSOR_HEADER));
+
+        final var filtered = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + SEARCH_PATH)
+                        .param("q", "deplo")
+                        .param("executorId", executorId.toString()), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> filteredTasks = fromJson(filtered.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(List.of("Deploy release"), filteredTasks.stream().map(Task::getName).toList());
+
+        final Task notes = taskRepository.findAll().stream()
+                .filter(task -> task.getName().equals("Review notes"))
+                .findFirst()
+                .get();
+        utils.perform(patch(BASE_URL + TASK_CONTROLLER_PATH + ID, notes.getId())
+                        .content(asJson(new TaskPatchDto(Set.of(TaskPatchDto.NAME), "Deploy notes", null, null, null,
+                                null)))
+                        .contentType(APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk());
+        final var updated = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + SEARCH_PATH)
+                        .param("q", "notes deploy"), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> updatedTasks = fromJson(updated.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(List.of(notes.getId()), updatedTasks.stream().map(Task::getId).toList());
+    }
+
+    @Test
+    public void searchTasksWithoutWords() throws Exception {
+        utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + SEARCH_PATH).param("q", " - "), TEST_USERNAME)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getTasksByInvalidCursor() throws Exception {
+        utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH).param("cursor", "not-a-cursor"), TEST_USERNAME)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getTasksByIndexedFilters() throws Exception {
+        final Task task = taskRepository.findAll().get(0);
+        final Long labelId = labelRepository.findAll().get(0).getId();
+        final var response = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH)
+                                .param("taskStatus", task.getTaskStatus().getId().toString())
+                                .param("executorId", task.getExecutor().getId().toString())
+                                .param("authorId", task.getAuthor().getId().toString())
+                                .param("labels", labelId.toString()),
+                        TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> tasks = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(1, tasks.size());
+
+        final var emptyResponse = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH)
+                                .param("executorId", String.valueOf(task.getExecutor().getId() + 1)),
+                        TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final List<Task> emptyTasks = fromJson(emptyResponse.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(0, emptyTasks.size());
+    }
+
+    @Test
+    public void getTasksByUnsupportedFilter() throws Exception {
+        utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH).param("name", "Test task"), TEST_USERNAME)
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getTaskStats() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        final Long executorId = existingTask.getExecutor().getId();
+        utils.createTask(new TaskDto("Unassigned task", null, existingTask.getTaskStatus().getId(), Set.of(), null))
+                .andExpect(status().isCreated());
+
+        final var response = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + STATS_PATH), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final TaskStats stats = fromJson(response.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(2, stats.getTotal());
+        assertEquals(List.of(new TaskStats.Count(existingTask.getTaskStatus().getId(), 2L)), stats.getTaskStatus());
+        assertEquals(List.of(new TaskStats.Count(null, 1L), new TaskStats.Count(executorId, 1L)),
+                stats.getExecutor());
+        assertEquals(List.of(new TaskStats.Count(existingTask.getAuthor().getId(), 2L)), stats.getAuthor());
+        assertEquals(1, stats.getLabels().size());
+        assertThat(sqlStatementCounter.getCount()).isLessThanOrEqualTo(4);
+
+        utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + STATS_PATH), TEST_USERNAME)
+                .andExpect(status().isOk());
+        assertEquals(0, sqlStatementCounter.getCount());
+
+        final var filtered = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + STATS_PATH)
+                        .param("executorId", executorId.toString()), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        final TaskStats filteredStats = fromJson(filtered.getContentAsString(), new TypeReference<>() {
+        });
+        assertEquals(1, filteredStats.getTotal());
+    }
+
+    @Test
+    public void getTaskStatsFollowsWrites() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        assertEquals(1, getStats().getTotal());
+
+        final Task created = fromJson(utils.createTask(new TaskDto(
+                        "Second task", null, existingTask.getTaskStatus().getId(), Set.of(), null))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), new TypeReference<Task>() {
+                });
+        assertEquals(2, getStats().getTotal());
+
+        final TaskPatchDto unassign = new TaskPatchDto(Set.of(TaskPatchDto.EXECUTOR_ID), null, null, null, null, null);
+        utils.perform(patch(BASE_URL + TASK_CONTROLLER_PATH + ID, existingTask.getId())
+                        .content(asJson(unassign))
+                        .contentType(APPLICATION_JSON), TEST_USERNAME)
+                .andExpect(status().isOk());
+        assertEquals(List.of(new TaskStats.Count(null, 2L)), getStats().getExecutor());
+
+        utils.perform(delete(BASE_URL + TASK_CONTROLLER_PATH + ID, created.getId()), TEST_USERNAME)
+                .andExpect(status().isOk());
+        assertEquals(1, getStats().getTotal());
+    }
+
+    @Test
+    public void dropCachedStatsOverlappingCreate() {
+        final Task existingTask = taskRepository.findAll().get(0);
+        final TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(transaction -> {
+            assertEquals(1, taskRepository.findStats(null).getTotal());
+            CompletableFuture.runAsync(() -> {
+                try {
+                    utils.createTask(new TaskDto(
+                                    "Second task", null, existingTask.getTaskStatus().getId(), Set.of(), null))
+                            .andExpect(status().isCreated());
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }).join();
+        });
+        assertEquals(2, taskRepository.findStats(null).getTotal());
+    }
+
+    private TaskStats getStats() throws Exception {
+        return fromJson(utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + STATS_PATH), TEST_USERNAME)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString(), new TypeReference<>() {
+                });
+    }
+
+    @Test
+    public void exportTasks() throws Exception {
+        final Task existingTask = taskRepository.findAll().get(0);
+        utils.createTask(new TaskDto(
+                "Test task 1",
+                "Test description 1",
+                existingTask.getTaskStatus().getId(),
+                Set.of(labelRepository.findAll().get(0).getId()),
+                null
+        )).andExpect(status().isCreated());
+
+        final var result = utils.perform(get(BASE_URL + TASK_CONTROLLER_PATH + EXPORT_PATH), TEST_USERNAME)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(TimeUnit.HOURS.toMillis(1), result.getRequest().getAsyncContext().getTimeout());
+        result.getAsyncResult();
+        final String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(existingTask.getId(), fromJson(lines[0], new TypeReference<Task>() {
+        }).getId());
+
+        final Map<String, Object> task = fromJson(lines[1], new TypeReference<>() {
+        });
+        assertEquals("Test task 1", task.get("name"));
+        assertEquals(Set.of("id", "name", "description", "createdAt", "version", "taskStatus", "author", "executor",
+                "labels"), task.keySet());
+        assertEquals(Set.of("id", "name"), ((Map<?, ?>) task.get("taskStatus")).keySet());
+        assertEquals(Set.of("id", "firstName", "lastName"), ((Map<?, ?>) task.get("author")).keySet());
+        assertNull(task.get("executor"));
+        assertEquals(Set.of("id", "name"), ((Map<?, ?>) ((List<?>) task.get("labels")).get(0)).keySet());
+    }
+
     @Test
     public void deleteTask() throws Exception {
         final long taskId = taskRepository.findAll().get(0).getId();
         utils.perform(delete(BASE_URL + TASK_CONTROLLER_PATH + ID, taskId), TEST_USERNAME)
                 .andExpect(status().isOk());
+        // the delete itself, plus the outbox insert and its occasional sequence fetch
+        assertThat(sqlStatementCounter.getCount()).isLessThanOrEqualTo(3);
         assertEquals(taskRepository.count(), 0);
     }
+
+    @Test
+    public void deleteUnknownTask() throws Exception {
+        final long unknownId = taskRepository.findAll().get(0).getId() + 1;
+        utils.perform(delete(BASE_URL + TASK_CONTROLLER_PATH + ID, unknownId), TEST_USERNAME)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void deleteTaskOfAnotherUserFails() throws Exception {
+        utils.regUser(new UserDto(TEST_USERNAME_2, "firstName", "lastName", "password"));
+        final long taskId = taskRepository.findAll().get(0).getId();
+        utils.perform(delete(BASE_URL + TASK_CONTROLLER_PATH + ID, taskId), TEST_USERNAME_2)
+                .andExpect(status().isForbidden());
+        assertEquals(1, taskRepository.count());
+    }
+
+    @Test
+    public void dispatchTaskChangesFromOutbox() throws Exception {
+        outboxSink.clear();
+        final long taskId = taskRepository.findAll().get(0).getId();
+        utils.perform(delete(BASE_URL + TASK_CONTROLLER_PATH + ID, taskId), TEST_USERNAME)
+                .andExpect(status().isOk());
+
+        assertThat(outboxDispatcher.dispatch()).isGreaterThanOrEqualTo(2);
+        assertEquals(0, outboxDispatcher.dispatch());
+        final List<String> taskChanges = outboxSink.getMessages().stream()
+                .filter(message -> "task".equals(message.getEntityType()) && message.getEntityId() == taskId)
+                .map(message -> message.getChange().name())
+                .collect(Collectors.toList());
+        assertEquals(List.of("CREATED", "DELETED"), taskChanges);
+    }
 }
@@ -1,6 +1,7 @@
 package hexlet.code.controller;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.component.JWTHelper;
 import hexlet.code.dto.LoginDto;
 import hexlet.code.dto.UserDto;
 import hexlet.code.config.SpringConfigForIT;
@@ -18,8 +19,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import static hexlet.code.component.JWTHelper.ROLE;
+import static hexlet.code.component.JWTHelper.USER_ID;
 import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
 import static hexlet.code.controller.UserController.ID;
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
@@ -33,11 +38,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 
 import static hexlet.code.config.security.SecurityConfig.LOGIN;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @AutoConfigureMockMvc
@@ -50,6 +58,8 @@ public class UserControllerIT {
     @Autowired
     private UserRepository userRepository;
     @Autowired
+    private JWTHelper jwtHelper;
+    @Autowired
     private TestUtils utils;
 
     @BeforeEach
@@ -98,6 +108,13 @@ public class UserControllerIT {
         assertEquals(expectedUser.getEmail(), user.getEmail());
     }
 
+    @Test
+    public void testGetUserByUnknownId() throws Exception {
+        final User existingUser = userRepository.findAll().get(0);
+        utils.perform(get(BASE_URL + USER_CONTROLLER_PATH + ID, existingUser.getId() + 1), existingUser.getEmail())
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     public void testGetAllUsers() throws Exception {
         final var response = utils.perform(get(BASE_URL + USER_CONTROLLER_PATH))
@@ -119,7 +136,20 @@ public class UserControllerIT {
                 .post(BASE_URL + LOGIN)
                 .content(asJson(loginDto))
                 .contentType(APPLICATION_JSON);
-        utils.perform(loginRequest).andExpect(status().isOk());
+        final var result = utils.perform(loginRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(TimeUnit.SECONDS.toMillis(30), result.getRequest().getAsyncContext().getTimeout());
+        final String token = utils.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString()
+                .trim();
+        final Map<String, Object> claims = jwtHelper.verify(token);
+        final User user = userRepository.findByEmail(TEST_USERNAME).get();
+        assertEquals(user.getId(), ((Number) claims.get(USER_ID)).longValue());
+        assertEquals(user.getRole().name(), claims.get(ROLE));
     }
 
     @Test
@@ -129,7 +159,25 @@ public class UserControllerIT {
                 .post(BASE_URL + LOGIN)
                 .content(asJson(loginDto))
                 .contentType(APPLICATION_JSON);
-        utils.perform(loginRequest).andExpect(status().isUnauthorized());
+        final var result = utils.perform(loginRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        utils.perform(asyncDispatch(result)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testBearerTokenIsVerifiedOnce() throws Exception {
+        final Long userId = userRepository.findByEmail(TEST_USERNAME).get().getId();
+        final String token = jwtHelper.expiring(Map.of("username", TEST_USERNAME, USER_ID, userId));
+        assertTrue(jwtHelper.verify(token) == jwtHelper.verify(token));
+
+        final var userDto = new UserDto(TEST_USERNAME, "newFirstName", "newLastName", "newPassword");
+        final var updateRequest = MockMvcRequestBuilders
+                .put(BASE_URL + USER_CONTROLLER_PATH + ID, userId)
+                .header(AUTHORIZATION, "Bearer " + token)
+                .content(asJson(userDto))
+                .contentType(APPLICATION_JSON);
+        utils.perform(updateRequest).andExpect(status().isOk());
     }
 
     @Test
@@ -154,6 +202,15 @@ public class UserControllerIT {
         assertEquals(0, userRepository.count());
     }
 
+    @Test
+    public void testDeleteUserWithTokenWithoutUserId() throws Exception {
+        final Long userId = userRepository.findByEmail(TEST_USERNAME).get().getId();
+        final String token = jwtHelper.expiring(Map.of("username", TEST_USERNAME));
+        utils.perform(delete(BASE_URL + USER_CONTROLLER_PATH + ID, userId).header(AUTHORIZATION, token))
+                .andExpect(status().isOk());
+        assertEquals(0, userRepository.count());
+    }
+
     @Test
     public void deleteUserFails() throws Exception {
         utils.regUser(new UserDto(
@@ -0,0 +1,128 @@
+package hexlet.code.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import hexlet.code.config.SpringConfigForIT;
+import hexlet.code.dto.LabelDto;
+import hexlet.code.model.Label;
+import hexlet.code.model.User;
+import hexlet.code.utils.TestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static hexlet.code.config.SpringConfigForIT.TEST_PROFILE;
+import static hexlet.code.controller.LabelController.ID;
+import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
+import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
+import static hexlet.code.utils.TestUtils.BASE_URL;
+import static hexlet.code.utils.TestUtils.asJson;
+import static hexlet.code.utils.TestUtils.fromJson;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+import static org.springframework.http.HttpHeaders.IF_MATCH;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs against a replica that is a database of its own, so a read shows which pool served it: a user seeded
+ * into the replica only, or the user registered through the primary.
+ */
+@AutoConfigureMockMvc
+@ActiveProfiles(TEST_PROFILE)
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(webEnvironment = RANDOM_PORT, classes = SpringConfigForIT.class, properties = {
+    "datasource.replica.url=" + UserControllerReplicaIT.REPLICA_URL,
+    "datasource.replica.liquibase.enabled=true",
+    "datasource.replica.sticky-window=1m"
+})
+public class UserControllerReplicaIT {
+
+    public static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+    private static final long REPLICA_ONLY_USER_ID = 1000;
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL));
+    @Autowired
+    private TestUtils utils;
+    private long primaryUserId;
+
+    @BeforeEach
+    public void testInit() throws Exception {
+        final String body = utils.regDefaultUser()
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        primaryUserId = fromJson(body, new TypeReference<User>() {
+        }).getId();
+        replica.update("insert into users (id, email, first_name, last_name, password, role, created_at, version)"
+                + " values (?, 'replica@email.com', 'Replica', 'Only', 'password', 'USER', current_timestamp, 0)",
+                REPLICA_ONLY_USER_ID);
+    }
+
+    @AfterEach
+    public void clear() {
+        utils.tearDown();
+        replica.update("delete from users");
+    }
+
+
+    @Test
+    public void readOnlyWorkHitsReplica() throws Exception {
+        final String reader = "reader@email.com";
+        getUser(REPLICA_ONLY_USER_ID, reader).andExpect(status().isOk());
+        getUser(primaryUserId, reader).andExpect(status().isNotFound());
+    }
+
+
+    @Test
+    public void readsStayOnPrimaryAfterCommittedWrite() throws Exception {
+        final String writer = "writer@email.com";
+        createLabel("Written label", writer);
+
+        getUser(primaryUserId, writer).andExpect(status().isOk());
+        getUser(REPLICA_ONLY_USER_ID, writer).andExpect(status().isNotFound());
+        getUser(primaryUserId, "other-reader@email.com").andExpect(status().isNotFound());
+    }
+
+
+    @Test
+    public void rolledBackWriteDoesNotPinReadsToPrimary() throws Exception {
+        final String writer = "failed-writer@email.com";
+        final Label label = createLabel("Stale label", "label-author@email.com");
+
+        final var staleUpdate = put(BASE_URL + LABEL_CONTROLLER_PATH + ID, label.getId())
+                .header(IF_MATCH, ETags.of(label.getId(), label.getVersion() + 1))
+                .content(asJson(new LabelDto("Updated label")))
+                .contentType(APPLICATION_JSON);
+        utils.perform(staleUpdate, writer).andExpect(status().isPreconditionFailed());
+
+        getUser(REPLICA_ONLY_USER_ID, writer).andExpect(status().isOk());
+    }
+
+    private Label createLabel(final String name, final String byUser) throws Exception {
+        final var request = post(BASE_URL + LABEL_CONTROLLER_PATH)
+                .content(asJson(new LabelDto(name)))
+                .contentType(APPLICATION_JSON);
+        final String body = utils.perform(request, byUser)
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return fromJson(body, new TypeReference<>() {
+        });
+    }
+
+    private ResultActions getUser(final long id, final String byUser) throws Exception {
+        return utils.perform(get(BASE_URL + USER_CONTROLLER_PATH + UserController.ID, id), byUser);
+    }
+}
@@ -4,24 +4,29 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import hexlet.code.dto.LabelDto;
+import hexlet.code.dto.TaskDto;
 import hexlet.code.dto.TaskStatusDto;
 import hexlet.code.dto.UserDto;
 import hexlet.code.component.JWTHelper;
 import hexlet.code.repository.LabelRepository;
+import hexlet.code.repository.OutboxRepository;
 import hexlet.code.repository.TaskRepository;
 import hexlet.code.repository.TaskStatusRepository;
 import hexlet.code.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
 import java.util.Map;
 
+import static hexlet.code.component.JWTHelper.USER_ID;
 import static hexlet.code.controller.UserController.USER_CONTROLLER_PATH;
 import static hexlet.code.controller.TaskStatusController.TASK_STATUS_CONTROLLER_PATH;
 import static hexlet.code.controller.LabelController.LABEL_CONTROLLER_PATH;
+import static hexlet.code.controller.TaskController.TASK_CONTROLLER_PATH;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -56,6 +61,8 @@ public class TestUtils {
     @Autowired
     private TaskRepository taskRepository;
     @Autowired
+    private OutboxRepository outboxRepository;
+    @Autowired
     private JWTHelper jwtHelper;
     private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
 
@@ -64,6 +71,7 @@ public class TestUtils {
         labelRepository.deleteAll();
         statusRepository.deleteAll();
         userRepository.deleteAll();
+        outboxRepository.deleteAll();
     }
 
 //    public User getUserByEmail(final String email) {
@@ -104,15 +112,25 @@ public class TestUtils {
         return perform(request, TEST_USERNAME);
     }
 
+    public ResultActions createTask(final TaskDto taskDto) throws Exception {
+        final var request = post(BASE_URL + TASK_CONTROLLER_PATH)
+                .content(asJson(taskDto))
+                .contentType(APPLICATION_JSON);
+        return perform(request, TEST_USERNAME);
+    }
+
 
 
     public ResultActions perform(final MockHttpServletRequestBuilder request, final String byUser) throws Exception {
-        final String token = jwtHelper.expiring(Map.of("username", byUser));
+        final Map<String, Object> claims = userRepository.findByEmail(byUser)
+                .<Map<String, Object>>map(user -> Map.of("username", byUser, USER_ID, user.getId()))
+                .orElse(Map.of("username", byUser));
+        final String token = jwtHelper.expiring(claims);
         request.header(AUTHORIZATION, token);
         return perform(request);
     }
 
-    public ResultActions perform(final MockHttpServletRequestBuilder request) throws Exception {
+    public ResultActions perform(final RequestBuilder request) throws Exception {
         return mockMvc.perform(request);
     }
 